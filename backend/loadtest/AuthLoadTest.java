@@ -0,0 +1,146 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for the auth API; compares thread models by keeping
+ * many requests in flight at once.
+ *
+ * <p>Each client signs up once, then loops until the deadline on:
+ * refresh (JDBC read, delete and insert) followed by introspection of the new
+ * access token (no database). Run with a JDK 21 launcher:
+ *
+ * <pre>
+ * java loadtest/AuthLoadTest.java [baseUrl] [clients] [seconds]
+ * </pre>
+ *
+ * The server should run with {@code --auth.rate-limit.enabled=false}, otherwise
+ * the per-IP buckets reject most of the traffic.
+ */
+public class AuthLoadTest {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\":\"([^\"]+)\"");
+    private static final Pattern REFRESH_TOKEN = Pattern.compile("\"refreshToken\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // Latency histogram in milliseconds, last bucket catches everything above
+        AtomicLongArray histogram = new AtomicLongArray(10_001);
+        AtomicLong requests = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        // Failed requests by status code; 0 = no response (timeout or I/O error)
+        ConcurrentMap<Integer, AtomicLong> errorsByStatus = new ConcurrentHashMap<>();
+
+        long runId = System.currentTimeMillis();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                String email = "load-" + runId + "-" + c + "@example.com";
+                pool.submit(() -> {
+                    String[] tokens = signup(http, baseUrl, email);
+                    if (tokens == null) {
+                        errors.incrementAndGet();
+                        return null;
+                    }
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        HttpResponse<String> refresh = post(http, baseUrl + "/api/auth/refresh", null,
+                                "{\"refreshToken\":\"" + tokens[1] + "\"}");
+                        record(histogram, requests, errorsByStatus, start, refresh);
+                        String[] next = refresh != null && refresh.statusCode() == 200 ? parse(refresh.body()) : null;
+                        if (next == null) {
+                            tokens = signup(http, baseUrl, email + "." + System.nanoTime());
+                            if (tokens == null) {
+                                return null;
+                            }
+                            continue;
+                        }
+                        tokens = next;
+
+                        start = System.nanoTime();
+                        HttpResponse<String> introspect = post(http, baseUrl + "/api/auth/introspect", tokens[0],
+                                "{\"tokens\":[\"" + tokens[0] + "\"]}");
+                        record(histogram, requests, errorsByStatus, start, introspect);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long total = requests.get();
+        System.out.printf("clients=%d duration=%ds requests=%d failed-signups=%d errors=%s throughput=%.1f req/s%n",
+                clients, seconds, total, errors.get(), errorsByStatus, total / (double) seconds);
+        System.out.printf("latency ms: p50=%d p90=%d p99=%d max=%d%n",
+                percentile(histogram, total, 0.50), percentile(histogram, total, 0.90),
+                percentile(histogram, total, 0.99), percentile(histogram, total, 1.0));
+    }
+
+    private static String[] signup(HttpClient http, String baseUrl, String email) {
+        HttpResponse<String> response = post(http, baseUrl + "/api/auth/signup", null,
+                "{\"email\":\"" + email + "\",\"password\":\"load-test-password\",\"name\":\"Load\"}");
+        return response != null && response.statusCode() == 201 ? parse(response.body()) : null;
+    }
+
+    private static HttpResponse<String> post(HttpClient http, String url, String bearer, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (bearer != null) {
+            request.header("Authorization", "Bearer " + bearer);
+        }
+        try {
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String[] parse(String body) {
+        Matcher access = ACCESS_TOKEN.matcher(body);
+        Matcher refresh = REFRESH_TOKEN.matcher(body);
+        return access.find() && refresh.find() ? new String[] {access.group(1), refresh.group(1)} : null;
+    }
+
+    private static void record(AtomicLongArray histogram, AtomicLong requests,
+            ConcurrentMap<Integer, AtomicLong> errorsByStatus, long startNanos, HttpResponse<String> response) {
+        long millis = Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+        histogram.incrementAndGet((int) Math.min(millis, histogram.length() - 1));
+        requests.incrementAndGet();
+        if (response == null || response.statusCode() >= 400) {
+            errorsByStatus.computeIfAbsent(response == null ? 0 : response.statusCode(), k -> new AtomicLong())
+                    .incrementAndGet();
+        }
+    }
+
+    private static long percentile(AtomicLongArray histogram, long total, double quantile) {
+        long target = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= target) {
+                return i;
+            }
+        }
+        return histogram.length() - 1;
+    }
+}
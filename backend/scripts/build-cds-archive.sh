@@ -0,0 +1,51 @@
+#!/bin/sh
+# Turns the Spring Boot fat jar into a plain-classpath layout and records an
+# AppCDS archive from a training run that stops right after the application
+# context has refreshed.
+#
+#   scripts/build-cds-archive.sh <boot-jar> <output-dir>
+#
+# Start the result from <output-dir> with:  java @java.args
+#
+# CDS only archives classes loaded from jar files on the class path, not from
+# nested jars, so the application classes are re-jarred and every library is
+# copied out. The class path must be identical at training and run time, which
+# is why it is written once to java.args and reused.
+set -eu
+
+BOOT_JAR=$(cd "$(dirname "$1")" && pwd)/$(basename "$1")
+OUT=$2
+MAIN_CLASS=com.expensetracker.ExpenseTrackerApplication
+
+rm -rf "$OUT"
+mkdir -p "$OUT/exploded" "$OUT/lib"
+cd "$OUT"
+
+(cd exploded && jar -xf "$BOOT_JAR")
+cp exploded/BOOT-INF/lib/*.jar lib/
+jar --create --file app.jar -C exploded/BOOT-INF/classes .
+
+CLASSPATH=app.jar
+for lib in $(ls lib | sort); do
+    CLASSPATH="$CLASSPATH:lib/$lib"
+done
+
+# Classes produced by `process-aot` mean the jar was built with the aot profile
+AOT_FLAG=
+if [ -n "$(find exploded/BOOT-INF/classes -name '*__ApplicationContextInitializer.class' | head -n 1)" ]; then
+    AOT_FLAG=-Dspring.aot.enabled=true
+fi
+rm -rf exploded
+
+echo "Training run for the CDS archive${AOT_FLAG:+ (AOT enabled)}"
+java -XX:ArchiveClassesAtExit=app.jsa -Xlog:cds=off -Dspring.context.exit=onRefresh $AOT_FLAG \
+    -cp "$CLASSPATH" "$MAIN_CLASS" --logging.level.root=WARN
+
+cat > java.args <<ARGS
+-XX:SharedArchiveFile=app.jsa
+$AOT_FLAG
+-cp $CLASSPATH
+$MAIN_CLASS
+ARGS
+
+echo "CDS layout written to $OUT; start with: cd $OUT && java @java.args"
@@ -0,0 +1,33 @@
+#!/bin/sh
+# Measures time to first successful request: from launching the JVM to the
+# first 200 from /api/auth/health. Runs each command several times and prints
+# every sample in milliseconds.
+#
+#   scripts/measure-startup.sh <runs> <workdir> <command...>
+#
+# e.g. scripts/measure-startup.sh 5 target java -jar expense-tracker-backend-1.0.0.jar
+#      scripts/measure-startup.sh 5 target/cds java @java.args
+set -eu
+
+RUNS=$1
+WORKDIR=$2
+shift 2
+PORT=${PORT:-18090}
+
+cd "$WORKDIR"
+for run in $(seq 1 "$RUNS"); do
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" --logging.level.root=WARN > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/auth/health" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "run $run: process exited before serving a request" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    echo "run $run: $(( (end - start) / 1000000 )) ms"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+done
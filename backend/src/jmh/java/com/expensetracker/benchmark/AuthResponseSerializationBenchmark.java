@@ -0,0 +1,56 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.auth.dto.AuthResponse;
+import com.expensetracker.auth.service.JwtService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the body returned by every login, signup and refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AuthResponse authResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+
+        JwtService jwtService = BenchmarkFixtures.jwtService(0);
+        authResponse = AuthResponse.builder()
+                .accessToken(jwtService.generateAccessToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.EMAIL))
+                .refreshToken(jwtService.generateRefreshToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.EMAIL))
+                .tokenType("Bearer")
+                .expiresIn(BenchmarkFixtures.ACCESS_TOKEN_EXPIRY / 1000)
+                .user(AuthResponse.UserInfo.builder()
+                        .id(BenchmarkFixtures.USER_ID)
+                        .name(BenchmarkFixtures.NAME)
+                        .email(BenchmarkFixtures.EMAIL)
+                        .build())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authResponse);
+    }
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.auth.service.JwtService;
+import com.expensetracker.auth.service.TokenRevocationService;
+import com.expensetracker.auth.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Shared inputs so that every benchmark runs against the same configuration as
+ * {@code application.yml}.
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "your-super-secret-key-for-development-only-change-in-production";
+    static final long ACCESS_TOKEN_EXPIRY = 900_000L;
+    static final long REFRESH_TOKEN_EXPIRY = 604_800_000L;
+
+    static final Long USER_ID = 4_242L;
+    static final String EMAIL = "benchmark.user@example.com";
+    static final String NAME = "Benchmark User";
+    static final String PASSWORD = "correct horse battery staple";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long verifiedTokenCacheSize) {
+        return new JwtService(JWT_SECRET, ACCESS_TOKEN_EXPIRY, REFRESH_TOKEN_EXPIRY,
+                new VerifiedTokenCache(verifiedTokenCacheSize), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Revocation service with no revoked tokens; the filter path only tests the
+     * Bloom filter, so no repository or producer is needed.
+     */
+    static TokenRevocationService tokenRevocationService() {
+        return new TokenRevocationService(null, null, ACCESS_TOKEN_EXPIRY, 100_000L, 0.001);
+    }
+}
@@ -0,0 +1,51 @@
+package com.expensetracker.benchmark;
+
+import com.expensetracker.auth.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token minting and verification. With {@code verifiedTokenCacheSize = 0} every
+ * verification recomputes the HMAC and re-parses the claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    @Param({"0", "10000"})
+    private long verifiedTokenCacheSize;
+
+    private JwtService jwtService;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService(verifiedTokenCacheSize);
+        accessToken = jwtService.generateAccessToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.EMAIL);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.EMAIL);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtService.validateToken(accessToken);
+    }
+}
@@ -3,20 +3,27 @@ package com.expensetracker.auth.controller;
 import com.expensetracker.auth.dto.AuthResponse;
 import com.expensetracker.auth.dto.LoginRequest;
 import com.expensetracker.auth.dto.GoogleLoginRequest;
+import com.expensetracker.auth.dto.IntrospectRequest;
 import com.expensetracker.auth.dto.RefreshTokenRequest;
 import com.expensetracker.auth.dto.SignupRequest;
+import com.expensetracker.auth.service.AccessTokenVerifier;
 import com.expensetracker.auth.service.AuthService;
 import com.expensetracker.auth.service.JwtService;
+import com.expensetracker.auth.service.TokenClaims;
+import com.expensetracker.config.JwtAuthenticationFilter;
+import com.expensetracker.warmup.WarmupService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -26,71 +33,99 @@ public class AuthController {
 
     private final AuthService authService;
     private final JwtService jwtService;
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final WarmupService warmupService;
 
-    public AuthController(AuthService authService, JwtService jwtService) {
+    public AuthController(AuthService authService, JwtService jwtService, AccessTokenVerifier accessTokenVerifier,
+            WarmupService warmupService) {
         this.authService = authService;
         this.jwtService = jwtService;
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.warmupService = warmupService;
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignupRequest request) {
-        log.info("Signup request received for email: {}", request.getEmail());
-        AuthResponse response = authService.signup(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> signup(@Valid @RequestBody SignupRequest request) {
+        return authService.signup(request)
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        log.info("Login request received for email: {}", request.getEmail());
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request)
+                .thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/google")
     public ResponseEntity<AuthResponse> googleLogin(@Valid @RequestBody GoogleLoginRequest request) {
-        log.info("Google login request received");
         AuthResponse response = authService.googleLogin(request.getIdToken());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
-        log.info("Token refresh request received");
         AuthResponse response = authService.refreshToken(request.getRefreshToken());
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/logout")
     public ResponseEntity<Map<String, String>> logout(
+            @RequestAttribute(value = JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, required = false) TokenClaims claims,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        log.info("Logout request received");
-        
-        Long userId = null;
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication != null && authentication.getPrincipal() instanceof Long) {
-            userId = (Long) authentication.getPrincipal();
-        } else if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            try {
-                String jwt = authHeader.substring(7);
-                userId = jwtService.getUserIdFromToken(jwt);
-            } catch (Exception e) {
-                log.error("Failed to parse JWT token on logout", e);
-            }
+        // The filter has already verified the bearer token; only fall back to
+        // verifying it here when the filter did not accept it as an access token
+        if (claims == null && authHeader != null && authHeader.startsWith("Bearer ")) {
+            claims = verifyLogoutToken(authHeader.substring(7));
         }
 
-        if (userId != null) {
-            authService.logout(userId);
-            log.info("Successfully logged out user ID: {}", userId);
+        if (claims != null) {
+            authService.logout(claims);
+            log.debug("Logged out user ID: {}", claims.userId());
         } else {
-            log.warn("Logout requested but user ID could not be resolved");
+            log.debug("Logout requested but user ID could not be resolved");
         }
 
         return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
     }
 
+    /**
+     * Logout deliberately also accepts a refresh token, so that a client whose
+     * access token has expired can still end its sessions. An access token gets
+     * the filter's checks, revocation included: a revoked token, e.g. a leaked
+     * one, must not be able to end the user's new sessions.
+     */
+    private TokenClaims verifyLogoutToken(String token) {
+        TokenClaims claims = jwtService.verifyToken(token).orElse(null);
+        if (claims == null || claims.isRefreshToken()) {
+            return claims;
+        }
+        return accessTokenVerifier.verify(token);
+    }
+
+    /**
+     * Checks a batch of bearer tokens for other services, with the same rules the
+     * authentication filter applies. Requires an authenticated caller. The result
+     * is streamed so large batches are never held in memory as one document.
+     */
+    @PostMapping(value = "/introspect", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> introspect(@Valid @RequestBody IntrospectRequest request) {
+        log.debug("Introspection request received for {} tokens", request.getTokens().size());
+        List<String> tokens = request.getTokens();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> accessTokenVerifier.writeIntrospection(tokens, out));
+    }
+
+    /**
+     * Answers 503 until the warm-up has run, so load balancers only route traffic
+     * to instances that have reached steady-state latency.
+     */
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
-        return ResponseEntity.ok(Map.of("status", "healthy"));
+        if (!warmupService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("status", "warming_up", "warmup", warmupService.getStatus().name()));
+        }
+        return ResponseEntity.ok(Map.of("status", "healthy", "warmup", warmupService.getStatus().name()));
     }
 }
@@ -0,0 +1,37 @@
+package com.expensetracker.auth.controller;
+
+import com.expensetracker.auth.dto.ProvisioningResult;
+import com.expensetracker.auth.service.UserProvisioningService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Bulk user provisioning for pilot cohorts and migrations from other systems.
+ * Callers authenticate with the provisioning key (see {@code SecurityConfig}).
+ */
+@RestController
+@RequestMapping("/api/provisioning")
+public class ProvisioningController {
+
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final UserProvisioningService userProvisioningService;
+
+    public ProvisioningController(UserProvisioningService userProvisioningService) {
+        this.userProvisioningService = userProvisioningService;
+    }
+
+    /**
+     * Reads the request body as it arrives, one user per line, and answers with the
+     * counts once the last batch is committed.
+     */
+    @PostMapping(value = "/users", consumes = NDJSON)
+    public ResponseEntity<ProvisioningResult> provisionUsers(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(userProvisioningService.provision(request.getInputStream()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.expensetracker.auth.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One line of a bulk provisioning upload. Passwords are imported as existing
+ * BCrypt hashes; without one the account can only sign in with Google.
+ */
+public class ProvisionedUser {
+    @NotBlank(message = "Email is required")
+    @Email(message = "Invalid email format")
+    @Size(max = 255, message = "Email must be at most 255 characters")
+    private String email;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 255, message = "Name must be at most 255 characters")
+    private String name;
+
+    @Pattern(regexp = "(\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53})?", message = "Password hash must be a BCrypt hash")
+    private String passwordHash;
+
+    public ProvisionedUser() {
+    }
+
+    public ProvisionedUser(String email, String name, String passwordHash) {
+        this.email = email;
+        this.name = name;
+        this.passwordHash = passwordHash;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+}
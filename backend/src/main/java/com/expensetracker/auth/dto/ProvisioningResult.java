@@ -0,0 +1,67 @@
+package com.expensetracker.auth.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk provisioning upload. Only the first {@link #MAX_ERRORS}
+ * rejected lines are listed; {@code rejected} counts all of them.
+ */
+public class ProvisioningResult {
+    public static final int MAX_ERRORS = 100;
+
+    private long created;
+    private long skipped;
+    private long rejected;
+    private final List<LineError> errors = new ArrayList<>();
+
+    public void addCreated(long count) {
+        created += count;
+    }
+
+    public void addSkipped(long count) {
+        skipped += count;
+    }
+
+    public void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new LineError(line, message));
+        }
+    }
+
+    // Getters
+    public long getCreated() {
+        return created;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<LineError> getErrors() {
+        return errors;
+    }
+
+    public static class LineError {
+        private final long line;
+        private final String message;
+
+        public LineError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.expensetracker.auth.exception;
+
+/**
+ * Base class for expected authentication failures: wrong credentials, bad tokens
+ * and the like. These are answered with {@code 400 Bad Request} and the exception
+ * message.
+ *
+ * <p>Failures carry no stack trace and no suppressed exceptions, and each subclass
+ * only exposes shared constants, so rejecting a request allocates nothing. Throw
+ * the constants; do not add causes.
+ */
+public abstract class AuthException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected AuthException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.auth.exception;
+
+public final class EmailAlreadyRegisteredException extends AuthException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final EmailAlreadyRegisteredException INSTANCE = new EmailAlreadyRegisteredException();
+
+    private EmailAlreadyRegisteredException() {
+        super("Email already registered");
+    }
+}
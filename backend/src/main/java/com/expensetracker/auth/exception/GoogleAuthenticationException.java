@@ -0,0 +1,20 @@
+package com.expensetracker.auth.exception;
+
+public final class GoogleAuthenticationException extends AuthException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final GoogleAuthenticationException INVALID_TOKEN =
+            new GoogleAuthenticationException("Invalid Google ID token");
+
+    public static final GoogleAuthenticationException EMAIL_NOT_VERIFIED =
+            new GoogleAuthenticationException("Google email not verified");
+
+    /** Any other failure; the cause is logged where it happens, not sent to the client. */
+    public static final GoogleAuthenticationException FAILED =
+            new GoogleAuthenticationException("Google authentication failed");
+
+    private GoogleAuthenticationException(String message) {
+        super(message);
+    }
+}
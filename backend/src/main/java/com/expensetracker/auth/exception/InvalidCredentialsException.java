@@ -0,0 +1,16 @@
+package com.expensetracker.auth.exception;
+
+/**
+ * Unknown email or wrong password. Both use the same message so that responses do
+ * not reveal which accounts exist.
+ */
+public final class InvalidCredentialsException extends AuthException {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final InvalidCredentialsException INSTANCE = new InvalidCredentialsException();
+
+    private InvalidCredentialsException() {
+        super("Invalid email or password");
+    }
+}
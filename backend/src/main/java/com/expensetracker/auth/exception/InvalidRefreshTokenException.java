@@ -0,0 +1,19 @@
+package com.expensetracker.auth.exception;
+
+public final class InvalidRefreshTokenException extends AuthException {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Malformed, forged or expired. */
+    public static final InvalidRefreshTokenException INVALID = new InvalidRefreshTokenException("Invalid refresh token");
+
+    /** A valid token that is not a refresh token. */
+    public static final InvalidRefreshTokenException WRONG_TYPE = new InvalidRefreshTokenException("Invalid token type");
+
+    /** A valid refresh token whose session was already used or ended. */
+    public static final InvalidRefreshTokenException NOT_FOUND = new InvalidRefreshTokenException("Refresh token not found");
+
+    private InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
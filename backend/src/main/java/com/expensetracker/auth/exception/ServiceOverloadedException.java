@@ -0,0 +1,21 @@
+package com.expensetracker.auth.exception;
+
+/**
+ * Thrown when a bounded worker pool cannot accept more work. Mapped to
+ * {@code 503 Service Unavailable} with a {@code Retry-After} header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,61 @@
+package com.expensetracker.auth.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * An access token revoked before its expiry, identified by its {@code jti}. Rows
+ * are only needed until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_access_tokens", indexes = {
+        @Index(name = "idx_revoked_access_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedAccessToken implements Persistable<String> {
+
+    @Id
+    @Column(length = 64, nullable = false)
+    private String jti;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // The id is assigned by us, so tell Spring Data to persist instead of merge
+    @Transient
+    private boolean isNew = true;
+
+    public RevokedAccessToken() {
+    }
+
+    public RevokedAccessToken(String jti, LocalDateTime expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    // Getters
+    public String getJti() {
+        return jti;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -1,17 +1,40 @@
 package com.expensetracker.auth.model;
 
 import jakarta.persistence.*;
-import java.time.LocalDateTime;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Held in the second-level cache by id ({@code users} region) and by email
+ * ({@code users-by-email}), so repeated lookups of the same account are served
+ * in-process. Updates only write the changed columns.
+ *
+ * <p>Ids come from the pooled {@code users_seq} sequence, one round trip per 50
+ * ids, so that inserts can be sent in JDBC batches (an identity column forces
+ * one statement per row).
+ */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
+@DynamicUpdate
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true, nullable = false)
+    // Stored lower-cased (see normalizeEmail), so the natural id is case-insensitive
+    @NaturalId
+    @Column(nullable = false)
     private String email;
 
     @Column(nullable = false)
@@ -23,24 +46,22 @@ public class User {
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
-    @Column
+    // Written behind by LastLoginRecorder, never through the entity; the cached
+    // value may lag the database by up to the cache's expiry
+    @Column(updatable = false)
     private LocalDateTime lastLoginAt;
 
-    @Column(length = 512)
-    private String refreshToken;
-
     public User() {
     }
 
     public User(Long id, String email, String passwordHash, String name,
-            LocalDateTime createdAt, LocalDateTime lastLoginAt, String refreshToken) {
+            LocalDateTime createdAt, LocalDateTime lastLoginAt) {
         this.id = id;
         this.email = email;
         this.passwordHash = passwordHash;
         this.name = name;
         this.createdAt = createdAt;
         this.lastLoginAt = lastLoginAt;
-        this.refreshToken = refreshToken;
     }
 
     @PrePersist
@@ -48,6 +69,13 @@ public class User {
         createdAt = LocalDateTime.now();
     }
 
+    /**
+     * Canonical form in which email addresses are stored and looked up.
+     */
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -62,7 +90,7 @@ public class User {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = normalizeEmail(email);
     }
 
     public String getPasswordHash() {
@@ -97,14 +125,6 @@ public class User {
         this.lastLoginAt = lastLoginAt;
     }
 
-    public String getRefreshToken() {
-        return refreshToken;
-    }
-
-    public void setRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
-    }
-
     // Builder pattern
     public static UserBuilder builder() {
         return new UserBuilder();
@@ -117,7 +137,6 @@ public class User {
         private String name;
         private LocalDateTime createdAt;
         private LocalDateTime lastLoginAt;
-        private String refreshToken;
 
         public UserBuilder id(Long id) {
             this.id = id;
@@ -125,7 +144,7 @@ public class User {
         }
 
         public UserBuilder email(String email) {
-            this.email = email;
+            this.email = normalizeEmail(email);
             return this;
         }
 
@@ -149,13 +168,8 @@ public class User {
             return this;
         }
 
-        public UserBuilder refreshToken(String refreshToken) {
-            this.refreshToken = refreshToken;
-            return this;
-        }
-
         public User build() {
-            return new User(id, email, passwordHash, name, createdAt, lastLoginAt, refreshToken);
+            return new User(id, email, passwordHash, name, createdAt, lastLoginAt);
         }
     }
 }
@@ -0,0 +1,8 @@
+package com.expensetracker.auth.repository;
+
+/**
+ * A refresh-token session with the user columns needed to issue new tokens, read
+ * without loading managed {@code RefreshToken} or {@code User} entities.
+ */
+public record RefreshSession(String tokenHash, Long userId, String email, String name) {
+}
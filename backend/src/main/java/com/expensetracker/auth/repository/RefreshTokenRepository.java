@@ -0,0 +1,36 @@
+package com.expensetracker.auth.repository;
+
+import com.expensetracker.auth.model.RefreshToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Query("select new com.expensetracker.auth.repository.RefreshSession(r.tokenHash, u.id, u.email, u.name) "
+            + "from RefreshToken r join r.user u where r.tokenHash = :tokenHash")
+    Optional<RefreshSession> findSessionByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Deletes the session and returns the number of rows removed, so that of two
+     * concurrent refreshes with the same token only one sees {@code 1}.
+     */
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Query("select r.tokenHash from RefreshToken r where r.expiresAt < :now")
+    List<String> findExpiredTokenHashes(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,32 @@
+package com.expensetracker.auth.repository;
+
+import com.expensetracker.auth.model.RevokedAccessToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedAccessTokenRepository extends JpaRepository<RevokedAccessToken, String> {
+
+    /**
+     * Confirms a revocation. Redeclared to run in a read-write transaction, so that it
+     * reads the primary: a lagging replica would still accept a token revoked moments
+     * ago.
+     */
+    @Override
+    @Transactional
+    boolean existsById(String jti);
+
+    @Query("select r from RevokedAccessToken r where r.expiresAt >= :now")
+    List<RevokedAccessToken> findUnexpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from RevokedAccessToken r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
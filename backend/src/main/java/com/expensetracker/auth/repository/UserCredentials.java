@@ -0,0 +1,11 @@
+package com.expensetracker.auth.repository;
+
+/**
+ * The columns a password login needs, read without loading a managed
+ * {@code User}.
+ */
+public record UserCredentials(Long id, String email, String name, String passwordHash) {
+
+    /** Query cache region holding credential lookups. */
+    public static final String CACHE_REGION = "user-credentials";
+}
@@ -0,0 +1,18 @@
+package com.expensetracker.auth.repository;
+
+import com.expensetracker.auth.model.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups of {@link User} by its natural id, the email address. These go through
+ * Hibernate's natural-id cache: a hit resolves the id in memory, and the entity
+ * itself then comes from the second-level cache.
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Finds the user by email, in any case.
+     */
+    Optional<User> findByEmail(String email);
+}
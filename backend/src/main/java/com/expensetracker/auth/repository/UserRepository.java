@@ -1,17 +1,62 @@
 package com.expensetracker.auth.repository;
 
 import com.expensetracker.auth.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
+/**
+ * {@code findByEmail} is implemented by {@link UserNaturalIdRepository}, so that it
+ * is served from the natural-id cache.
+ */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    Optional<User> findByEmail(String email);
-    
-    boolean existsByEmail(String email);
-    
-    Optional<User> findByRefreshToken(String refreshToken);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
+
+    /**
+     * Credentials for a password login. The result is held in the query cache
+     * ({@code user-credentials} region), which Hibernate invalidates whenever this
+     * node writes to {@code users}; other nodes' writes evict it through
+     * {@code UserLifecycleListener}.
+     *
+     * <p>The lookup is read-only, so it may be served by a read replica. An account
+     * created moments ago may not have reached the replica yet (and the miss may be
+     * cached), so a miss is checked once more on the primary.
+     */
+    default Optional<UserCredentials> findCredentialsByEmail(String email) {
+        String normalizedEmail = User.normalizeEmail(email);
+        Optional<UserCredentials> credentials = findCredentialsByNormalizedEmail(normalizedEmail);
+        return credentials.isPresent() ? credentials : findCredentialsOnPrimary(normalizedEmail);
+    }
+
+    @Query("select new com.expensetracker.auth.repository.UserCredentials(u.id, u.email, u.name, u.passwordHash) "
+            + "from User u where u.email = :email")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = UserCredentials.CACHE_REGION)
+    })
+    @Transactional(readOnly = true)
+    Optional<UserCredentials> findCredentialsByNormalizedEmail(@Param("email") String email);
+
+    /**
+     * Uncached and in a read-write transaction, so it always reads the primary.
+     */
+    @Query("select new com.expensetracker.auth.repository.UserCredentials(u.id, u.email, u.name, u.passwordHash) "
+            + "from User u where u.email = :email")
+    @Transactional
+    Optional<UserCredentials> findCredentialsOnPrimary(@Param("email") String email);
+
+    /**
+     * The subset of the given (normalized) addresses that are already registered.
+     */
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 }
@@ -0,0 +1,88 @@
+package com.expensetracker.auth.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * The single definition of an acceptable access token: signature and expiry
+ * checked by {@link JwtService}, of type {@code access}, and not revoked. Used by
+ * the authentication filter for each request and by the introspection endpoint
+ * for batches of tokens presented to other services.
+ */
+@Service
+public class AccessTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessTokenVerifier.class);
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final ObjectMapper objectMapper;
+
+    public AccessTokenVerifier(JwtService jwtService, TokenRevocationService tokenRevocationService,
+            ObjectMapper objectMapper) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the claims of a valid, unrevoked access token, or {@code null}.
+     */
+    public TokenClaims verify(String token) {
+        TokenClaims claims = jwtService.verifyToken(token).orElse(null);
+        if (claims == null) {
+            return null;
+        }
+
+        if (!claims.isAccessToken()) {
+            log.debug("Rejected non-access token for user ID: {}", claims.userId());
+            return null;
+        }
+
+        if (tokenRevocationService.isRevoked(claims)) {
+            log.debug("Rejected revoked access token for user ID: {}", claims.userId());
+            return null;
+        }
+
+        return claims;
+    }
+
+    /**
+     * Verifies each token and streams one result per token, in request order, as
+     * {@code {"results":[{"index":0,"active":true,"sub":"42",...},{"index":1,"active":false}]}}.
+     * Field names follow RFC 7662. Tokens are never echoed back; results are
+     * matched to requests by index.
+     */
+    public void writeIntrospection(List<String> tokens, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("results");
+            for (int i = 0; i < tokens.size(); i++) {
+                String token = tokens.get(i);
+                TokenClaims claims = token != null ? verify(token) : null;
+
+                json.writeStartObject();
+                json.writeNumberField("index", i);
+                json.writeBooleanField("active", claims != null);
+                if (claims != null) {
+                    json.writeStringField("sub", String.valueOf(claims.userId()));
+                    json.writeStringField("email", claims.email());
+                    json.writeStringField("token_type", claims.type());
+                    json.writeStringField("jti", claims.jti());
+                    json.writeNumberField("exp", claims.expiresAt().getEpochSecond());
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
@@ -3,22 +3,33 @@ package com.expensetracker.auth.service;
 import com.expensetracker.auth.dto.AuthResponse;
 import com.expensetracker.auth.dto.LoginRequest;
 import com.expensetracker.auth.dto.SignupRequest;
+import com.expensetracker.auth.exception.AuthException;
+import com.expensetracker.auth.exception.EmailAlreadyRegisteredException;
+import com.expensetracker.auth.exception.GoogleAuthenticationException;
+import com.expensetracker.auth.exception.InvalidCredentialsException;
+import com.expensetracker.auth.exception.InvalidRefreshTokenException;
+import com.expensetracker.auth.model.RefreshToken;
 import com.expensetracker.auth.model.User;
+import com.expensetracker.auth.repository.RefreshSession;
+import com.expensetracker.auth.repository.RefreshTokenRepository;
+import com.expensetracker.auth.repository.UserCredentials;
 import com.expensetracker.auth.repository.UserRepository;
 import com.expensetracker.kafka.UserLifecycleProducer;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @SuppressWarnings("null")
@@ -27,129 +38,193 @@ public class AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
     private final JwtService jwtService;
     private final UserLifecycleProducer userLifecycleProducer;
-    private final String googleClientId;
-
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final TokenRevocationService tokenRevocationService;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final OperationTimer signupTimer;
+    private final OperationTimer loginTimer;
+    private final OperationTimer refreshTimer;
+    private final OperationTimer logoutTimer;
+    private final OperationTimer googleLoginTimer;
+
+    public AuthService(UserRepository userRepository, RefreshTokenRepository refreshTokenRepository,
+            PasswordHashingService passwordHashingService,
             JwtService jwtService, UserLifecycleProducer userLifecycleProducer,
-            @Value("${google.client-id}") String googleClientId) {
+            PlatformTransactionManager transactionManager, GoogleTokenVerifier googleTokenVerifier,
+            TokenRevocationService tokenRevocationService, LastLoginRecorder lastLoginRecorder,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordHashingService = passwordHashingService;
+        // Transactions are demarcated in code rather than with @Transactional: signup and
+        // login finish on the hashing pool, and the operation timers must include the commit
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
         this.jwtService = jwtService;
         this.userLifecycleProducer = userLifecycleProducer;
-        this.googleClientId = googleClientId;
+        this.googleTokenVerifier = googleTokenVerifier;
+        this.tokenRevocationService = tokenRevocationService;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.signupTimer = new OperationTimer(meterRegistry, "signup");
+        this.loginTimer = new OperationTimer(meterRegistry, "login");
+        this.refreshTimer = new OperationTimer(meterRegistry, "refresh");
+        this.logoutTimer = new OperationTimer(meterRegistry, "logout");
+        this.googleLoginTimer = new OperationTimer(meterRegistry, "google");
     }
 
-    @Transactional
-    public AuthResponse signup(SignupRequest request) {
-        log.info("Processing signup for email: {}", request.getEmail());
-
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new RuntimeException("Email already registered");
-        }
+    /**
+     * Hashes the password on the {@link PasswordHashingService} pool and creates the
+     * user once the hash is ready. The request thread is released immediately.
+     *
+     * <p>There is no existence check up front: the user and refresh-session inserts
+     * share one transaction, and a duplicate email is detected by the unique
+     * constraint, which also settles concurrent signups for the same address.
+     */
+    public CompletableFuture<AuthResponse> signup(SignupRequest request) {
+        log.debug("Processing signup");
+
+        return signupTimer.recordAsync(() -> passwordHashingService.encode(request.getPassword())
+                .thenApply(passwordHash -> {
+                    try {
+                        return transactionTemplate.execute(status -> createUser(request, passwordHash));
+                    } catch (DataIntegrityViolationException e) {
+                        throw EmailAlreadyRegisteredException.INSTANCE;
+                    }
+                }));
+    }
 
+    private AuthResponse createUser(SignupRequest request, String passwordHash) {
         User user = User.builder()
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHash)
                 .name(request.getName())
                 .build();
 
-        User savedUser = userRepository.save(user);
-        user = savedUser;
-        log.info("User created with ID: {}", user.getId());
-
-        // Generate tokens
-        String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail());
-        String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
+        user = userRepository.save(user);
+        log.debug("User created with ID: {}", user.getId());
 
-        // Save refresh token
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
+        AuthResponse response = issueTokens(user.getId(), user.getEmail(), user.getName());
 
         // Publish user created event
         userLifecycleProducer.sendUserCreatedEvent(user.getId(), user.getEmail());
 
-        return buildAuthResponse(user, accessToken, refreshToken);
+        return response;
     }
 
-    @Transactional
-    public AuthResponse login(LoginRequest request) {
-        log.info("Processing login for email: {}", request.getEmail());
-
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new RuntimeException("Invalid email or password"));
+    /**
+     * Reads the credentials projection on the calling thread, then matches the
+     * password on the {@link PasswordHashingService} pool and issues tokens once it
+     * succeeds. No {@code User} entity is loaded unless the hash must be upgraded.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        log.debug("Processing login");
+
+        return loginTimer.recordAsync(() -> {
+            UserCredentials credentials = userRepository.findCredentialsByEmail(request.getEmail())
+                    .orElseThrow(() -> InvalidCredentialsException.INSTANCE);
+
+            return passwordHashingService.matchAndUpgrade(request.getPassword(), credentials.passwordHash())
+                    .thenApply(match -> {
+                        if (!match.matched()) {
+                            throw InvalidCredentialsException.INSTANCE;
+                        }
+                        return transactionTemplate.execute(status -> completeLogin(credentials, match.upgradedHash()));
+                    });
+        });
+    }
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            throw new RuntimeException("Invalid email or password");
+    /**
+     * Only the new refresh session is written; the {@code users} row is updated
+     * when the password hash is upgraded, and last-login is written behind.
+     */
+    private AuthResponse completeLogin(UserCredentials credentials, String upgradedPasswordHash) {
+        // Transparently move the hash to the current BCrypt cost. This is the only
+        // write to users, so it is the only place the entity is loaded (from the
+        // second-level cache) and dirty-checked; other nodes evict theirs on USER_UPDATED.
+        if (upgradedPasswordHash != null) {
+            log.debug("Rehashing password for user ID: {}", credentials.id());
+            userRepository.findById(credentials.id())
+                    .ifPresent(managed -> managed.setPasswordHash(upgradedPasswordHash));
+            userLifecycleProducer.sendUserUpdatedEvent(credentials.id(), credentials.email());
         }
 
-        // Update last login
-        user.setLastLoginAt(LocalDateTime.now());
+        lastLoginRecorder.record(credentials.id(), LocalDateTime.now());
 
-        // Generate new tokens
-        String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail());
-        String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
-
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
+        AuthResponse response = issueTokens(credentials.id(), credentials.email(), credentials.name());
 
         // Publish login event
-        userLifecycleProducer.sendUserLoginEvent(user.getId(), user.getEmail());
+        userLifecycleProducer.sendUserLoginEvent(credentials.id(), credentials.email());
 
-        return buildAuthResponse(user, accessToken, refreshToken);
+        return response;
     }
 
-    @Transactional
+    /**
+     * Rotates a refresh token: the presented session is read as a projection by
+     * the primary key (the token hash), deleted with a single statement and
+     * replaced by a new one. No entity is loaded, and the {@code users} row is only
+     * read.
+     */
     public AuthResponse refreshToken(String refreshToken) {
-        log.info("Processing token refresh");
+        log.debug("Processing token refresh");
 
-        if (!jwtService.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid refresh token");
-        }
+        return refreshTimer.record(() -> transactionTemplate.execute(status -> rotateRefreshToken(refreshToken)));
+    }
 
-        String tokenType = jwtService.getTokenType(refreshToken);
-        if (!"refresh".equals(tokenType)) {
-            throw new RuntimeException("Invalid token type");
-        }
+    private AuthResponse rotateRefreshToken(String refreshToken) {
+        TokenClaims claims = jwtService.verifyToken(refreshToken)
+                .orElseThrow(() -> InvalidRefreshTokenException.INVALID);
 
-        User user = userRepository.findByRefreshToken(refreshToken)
-                .orElseThrow(() -> new RuntimeException("Refresh token not found"));
+        if (!claims.isRefreshToken()) {
+            throw InvalidRefreshTokenException.WRONG_TYPE;
+        }
 
-        // Generate new tokens
-        String newAccessToken = jwtService.generateAccessToken(user.getId(), user.getEmail());
-        String newRefreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
+        RefreshSession session = refreshTokenRepository
+                .findSessionByTokenHash(TokenDigest.of(refreshToken).toHex())
+                .orElseThrow(() -> InvalidRefreshTokenException.NOT_FOUND);
 
-        user.setRefreshToken(newRefreshToken);
-        userRepository.save(user);
+        // A concurrent refresh with the same token may have deleted it in the meantime
+        if (refreshTokenRepository.deleteByTokenHash(session.tokenHash()) == 0) {
+            throw InvalidRefreshTokenException.NOT_FOUND;
+        }
 
-        return buildAuthResponse(user, newAccessToken, newRefreshToken);
+        return issueTokens(session.userId(), session.email(), session.name());
     }
 
-    @Transactional
-    public void logout(Long userId) {
-        log.info("Processing logout for user ID: {}", userId);
+    /**
+     * Ends every refresh-token session of the user.
+     */
+    public void logout(TokenClaims claims) {
+        log.debug("Processing logout for user ID: {}", claims.userId());
 
-        userRepository.findById(userId).ifPresent(user -> {
-            user.setRefreshToken(null);
-            userRepository.save(user);
-        });
+        logoutTimer.record(() -> transactionTemplate.execute(status -> {
+            refreshTokenRepository.deleteAllByUserId(claims.userId());
+            if (claims.isAccessToken()) {
+                tokenRevocationService.revoke(claims);
+            }
+            return null;
+        }));
     }
 
-    @Transactional
+    /**
+     * Verifies the Google ID token before a transaction is opened, so that no
+     * database connection is held during the call to Google's key endpoint.
+     */
     public AuthResponse googleLogin(String idTokenString) {
-        log.info("Processing Google login");
+        log.debug("Processing Google login");
 
-        try {
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), new GsonFactory())
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
+        return googleLoginTimer.record(() -> authenticateWithGoogle(idTokenString));
+    }
 
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+    private AuthResponse authenticateWithGoogle(String idTokenString) {
+        try {
+            GoogleIdToken idToken = googleTokenVerifier.verify(idTokenString);
             if (idToken == null) {
-                log.warn("Invalid Google ID token");
-                throw new RuntimeException("Invalid Google ID token");
+                log.debug("Invalid Google ID token");
+                throw GoogleAuthenticationException.INVALID_TOKEN;
             }
 
             GoogleIdToken.Payload payload = idToken.getPayload();
@@ -157,59 +232,133 @@ public class AuthService {
             boolean emailVerified = Boolean.TRUE.equals(payload.getEmailVerified());
 
             if (!emailVerified) {
-                log.warn("Google email not verified: {}", email);
-                throw new RuntimeException("Google email not verified");
+                log.debug("Google email not verified");
+                throw GoogleAuthenticationException.EMAIL_NOT_VERIFIED;
             }
 
             String name = (String) payload.get("name");
-            log.info("Google login successful for email: {}, name: {}", email, name);
-
-            // Find or create user
-            User user = userRepository.findByEmail(email)
-                    .orElseGet(() -> {
-                        log.info("Creating new user for Google login: {}", email);
-                        User newUser = User.builder()
-                                .email(email)
-                                .name(name != null ? name : email.split("@")[0])
-                                .passwordHash("") // No password for Google users
-                                .build();
-                        User saved = userRepository.save(newUser);
-                        userLifecycleProducer.sendUserCreatedEvent(saved.getId(), saved.getEmail());
-                        return saved;
-                    });
+            log.debug("Google ID token verified");
 
-            // Update last login
-            user.setLastLoginAt(LocalDateTime.now());
+            return transactionTemplate.execute(status -> completeGoogleLogin(email, name));
 
-            // Generate new tokens
-            String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail());
-            String refreshToken = jwtService.generateRefreshToken(user.getId(), user.getEmail());
+        } catch (AuthException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error verifying Google ID token", e);
+            throw GoogleAuthenticationException.FAILED;
+        }
+    }
 
-            user.setRefreshToken(refreshToken);
-            userRepository.save(user);
+    private AuthResponse completeGoogleLogin(String email, String name) {
+        // Find or create user; new users are inserted with their first login time
+        LocalDateTime now = LocalDateTime.now();
+        User user = userRepository.findByEmail(email)
+                .map(existing -> {
+                    lastLoginRecorder.record(existing.getId(), now);
+                    return existing;
+                })
+                .orElseGet(() -> {
+                    log.debug("Creating new user for Google login");
+                    User newUser = User.builder()
+                            .email(email)
+                            .name(name != null ? name : email.split("@")[0])
+                            .passwordHash("") // No password for Google users
+                            .lastLoginAt(now)
+                            .build();
+                    User saved = userRepository.save(newUser);
+                    userLifecycleProducer.sendUserCreatedEvent(saved.getId(), saved.getEmail());
+                    return saved;
+                });
+
+        AuthResponse response = issueTokens(user.getId(), user.getEmail(), user.getName());
 
-            // Publish login event
-            userLifecycleProducer.sendUserLoginEvent(user.getId(), user.getEmail());
+        // Publish login event
+        userLifecycleProducer.sendUserLoginEvent(user.getId(), user.getEmail());
 
-            return buildAuthResponse(user, accessToken, refreshToken);
+        return response;
+    }
 
-        } catch (Exception e) {
-            log.error("Error verifying Google ID token", e);
-            throw new RuntimeException("Google authentication failed: " + e.getMessage(), e);
-        }
+    /**
+     * Mints an access/refresh token pair and records the refresh token as a new
+     * session row keyed by its hash. The session refers to the user through an
+     * uninitialized reference, so the {@code users} row is not read.
+     */
+    private AuthResponse issueTokens(Long userId, String email, String name) {
+        String accessToken = jwtService.generateAccessToken(userId, email);
+        String refreshToken = jwtService.generateRefreshToken(userId, email);
+
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.save(new RefreshToken(TokenDigest.of(refreshToken).toHex(),
+                userRepository.getReferenceById(userId), now,
+                now.plus(jwtService.getRefreshTokenExpiry(), ChronoUnit.MILLIS)));
+
+        return buildAuthResponse(userId, email, name, accessToken, refreshToken);
     }
 
-    private AuthResponse buildAuthResponse(User user, String accessToken, String refreshToken) {
+    private AuthResponse buildAuthResponse(Long userId, String email, String name,
+                                           String accessToken, String refreshToken) {
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
                 .tokenType("Bearer")
                 .expiresIn(jwtService.getAccessTokenExpiry() / 1000) // Convert to seconds
                 .user(AuthResponse.UserInfo.builder()
-                        .id(user.getId())
-                        .name(user.getName())
-                        .email(user.getEmail())
+                        .id(userId)
+                        .name(name)
+                        .email(email)
                         .build())
                 .build();
     }
+
+    /**
+     * Times one operation, tagged with whether it completed normally. Both timers
+     * are registered up front so the recording path is a plain field read.
+     */
+    private static final class OperationTimer {
+
+        private final Timer success;
+        private final Timer failure;
+
+        OperationTimer(MeterRegistry meterRegistry, String operation) {
+            this.success = register(meterRegistry, operation, "success");
+            this.failure = register(meterRegistry, operation, "failure");
+        }
+
+        private static Timer register(MeterRegistry meterRegistry, String operation, String outcome) {
+            return Timer.builder("auth.operation")
+                    .description("End-to-end time of an authentication operation, including the commit")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        <T> T record(Supplier<T> operation) {
+            long start = System.nanoTime();
+            try {
+                T result = operation.get();
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (RuntimeException e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+
+        /**
+         * Times an operation that completes asynchronously; the clock stops when the
+         * returned future completes, not when the calling thread is released.
+         */
+        <T> CompletableFuture<T> recordAsync(Supplier<CompletableFuture<T>> operation) {
+            long start = System.nanoTime();
+            CompletableFuture<T> future;
+            try {
+                future = operation.get();
+            } catch (RuntimeException e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            return future.whenComplete((result, error) ->
+                    (error == null ? success : failure).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        }
+    }
 }
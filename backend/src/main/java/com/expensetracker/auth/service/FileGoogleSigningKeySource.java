@@ -0,0 +1,50 @@
+package com.expensetracker.auth.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads signing certificates from a local file in the same {@code {"kid": "PEM"}}
+ * format that Google publishes. Intended for tests and offline environments that
+ * sign their own ID tokens.
+ */
+public class FileGoogleSigningKeySource implements GoogleSigningKeySource {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path file;
+    private final Duration timeToLive;
+
+    public FileGoogleSigningKeySource(Path file, Duration timeToLive) {
+        this.file = file;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public GoogleSigningKeys load() throws IOException, GeneralSecurityException {
+        Map<String, String> certificates = objectMapper.readValue(Files.readAllBytes(file),
+                new TypeReference<Map<String, String>>() { });
+
+        CertificateFactory factory = CertificateFactory.getInstance("X.509");
+        List<PublicKey> keys = new ArrayList<>(certificates.size());
+        for (String pem : certificates.values()) {
+            keys.add(factory.generateCertificate(
+                    new ByteArrayInputStream(pem.getBytes(StandardCharsets.UTF_8))).getPublicKey());
+        }
+
+        return new GoogleSigningKeys(List.copyOf(keys), Instant.now().plus(timeToLive));
+    }
+}
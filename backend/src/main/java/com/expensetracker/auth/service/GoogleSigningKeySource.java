@@ -0,0 +1,12 @@
+package com.expensetracker.auth.service;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+/**
+ * Supplies the public keys used to check Google ID token signatures.
+ */
+public interface GoogleSigningKeySource {
+
+    GoogleSigningKeys load() throws IOException, GeneralSecurityException;
+}
@@ -0,0 +1,12 @@
+package com.expensetracker.auth.service;
+
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Google's ID token signing keys together with the time until which the source
+ * says they may be cached.
+ */
+public record GoogleSigningKeys(List<PublicKey> keys, Instant expiresAt) {
+}
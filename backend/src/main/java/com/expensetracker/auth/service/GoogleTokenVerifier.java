@@ -0,0 +1,141 @@
+package com.expensetracker.auth.service;
+
+import com.expensetracker.diagnostics.GoogleTokenVerificationEvent;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared verifier for Google ID tokens.
+ *
+ * <p>Signing keys are loaded from a {@link GoogleSigningKeySource} and kept in
+ * memory. A background thread reloads them ahead of their expiry, so a login never
+ * waits on a certificate fetch; if a reload fails, the previous keys stay in use
+ * and the reload is retried. Only the very first verification after startup can
+ * block, and only if the initial background load has not finished yet.
+ */
+@Component
+public class GoogleTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
+    private static final long ACCEPTABLE_TIME_SKEW_SECONDS = 300;
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(60);
+
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final GoogleSigningKeySource keySource;
+    private final Collection<String> audience;
+    private final Duration refreshAhead;
+    private final Duration retryInterval;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile GoogleSigningKeys signingKeys;
+
+    public GoogleTokenVerifier(GoogleSigningKeySource keySource,
+            @Value("${google.client-id}") String googleClientId,
+            @Value("${google.signing-keys.refresh-ahead:5m}") Duration refreshAhead,
+            @Value("${google.signing-keys.retry-interval:30s}") Duration retryInterval) {
+        this.keySource = keySource;
+        this.audience = List.of(googleClientId);
+        this.refreshAhead = refreshAhead;
+        this.retryInterval = retryInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "google-signing-keys");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.execute(this::refresh);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Returns the parsed token if its signature, issuer, audience and lifetime are
+     * valid, or {@code null} otherwise.
+     */
+    public GoogleIdToken verify(String idTokenString) throws IOException, GeneralSecurityException {
+        GoogleTokenVerificationEvent event = new GoogleTokenVerificationEvent();
+        event.begin();
+        GoogleIdToken idToken = null;
+        try {
+            idToken = verifySignedToken(idTokenString);
+            return idToken;
+        } finally {
+            event.complete(idToken != null);
+        }
+    }
+
+    private GoogleIdToken verifySignedToken(String idTokenString) throws IOException, GeneralSecurityException {
+        GoogleIdToken idToken = GoogleIdToken.parse(jsonFactory, idTokenString);
+
+        if (!idToken.verifyIssuer(ISSUERS)
+                || !idToken.verifyAudience(audience)
+                || !idToken.verifyTime(System.currentTimeMillis(), ACCEPTABLE_TIME_SKEW_SECONDS)) {
+            return null;
+        }
+
+        for (PublicKey key : currentKeys().keys()) {
+            if (idToken.verifySignature(key)) {
+                return idToken;
+            }
+        }
+        return null;
+    }
+
+    private GoogleSigningKeys currentKeys() throws IOException, GeneralSecurityException {
+        GoogleSigningKeys keys = signingKeys;
+        if (keys != null) {
+            return keys;
+        }
+
+        synchronized (this) {
+            if (signingKeys == null) {
+                signingKeys = keySource.load();
+            }
+            return signingKeys;
+        }
+    }
+
+    private void refresh() {
+        try {
+            GoogleSigningKeys keys = keySource.load();
+            signingKeys = keys;
+
+            Duration untilRefresh = Duration.between(Instant.now(), keys.expiresAt()).minus(refreshAhead);
+            if (untilRefresh.compareTo(MIN_REFRESH_INTERVAL) < 0) {
+                untilRefresh = MIN_REFRESH_INTERVAL;
+            }
+            log.debug("Loaded {} Google signing keys, next refresh in {}", keys.keys().size(), untilRefresh);
+            scheduler.schedule(this::refresh, untilRefresh.toMillis(), TimeUnit.MILLISECONDS);
+
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.warn("Failed to refresh Google signing keys, retrying in {}: {}", retryInterval, e.getMessage());
+            scheduler.schedule(this::refresh, retryInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.expensetracker.auth.service;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+
+/**
+ * Fetches Google's published signing certificates over HTTPS. The expiry comes
+ * from the {@code Cache-Control} header of Google's response.
+ */
+public class HttpGoogleSigningKeySource implements GoogleSigningKeySource {
+
+    private final GooglePublicKeysManager publicKeysManager =
+            new GooglePublicKeysManager(new NetHttpTransport(), GsonFactory.getDefaultInstance());
+
+    @Override
+    public synchronized GoogleSigningKeys load() throws IOException, GeneralSecurityException {
+        publicKeysManager.refresh();
+        return new GoogleSigningKeys(publicKeysManager.getPublicKeys(),
+                Instant.ofEpochMilli(publicKeysManager.getExpirationTimeMilliseconds()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.expensetracker.auth.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * A small, bounded set of reusable instances of a class that is costly to set
+ * up and not safe for concurrent use, such as a keyed {@link javax.crypto.Mac}.
+ *
+ * <p>Unlike a {@link ThreadLocal} it also serves virtual threads, each of which
+ * runs a single request and would otherwise set up its own instance every time.
+ * Borrowing and returning are one atomic swap each in the common case. When every
+ * slot is taken a new instance is made, and on return it is kept only if a slot
+ * is free, so the pool never grows beyond its size.
+ */
+final class InstancePool<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final Supplier<T> factory;
+
+    InstancePool(Supplier<T> factory) {
+        this(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), factory);
+    }
+
+    InstancePool(int size, Supplier<T> factory) {
+        this.slots = new AtomicReferenceArray<>(size);
+        this.factory = factory;
+    }
+
+    T borrow() {
+        int size = slots.length();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            T instance = slots.getAndSet((start + i) % size, null);
+            if (instance != null) {
+                return instance;
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Returns an instance in its initial state. Instances left half-used by an
+     * exception must not be returned.
+     */
+    void release(T instance) {
+        int size = slots.length();
+        int start = ThreadLocalRandom.current().nextInt(size);
+        for (int i = 0; i < size; i++) {
+            if (slots.compareAndSet((start + i) % size, null, instance)) {
+                return;
+            }
+        }
+    }
+}
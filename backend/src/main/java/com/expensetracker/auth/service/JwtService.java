@@ -3,6 +3,9 @@ package com.expensetracker.auth.service;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.*;
 import com.nimbusds.jwt.*;
+import com.expensetracker.logging.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,22 +15,36 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Date;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class);
 
+    // Garbage and forged tokens arrive in bursts; log a sample, not every one
+    private final LogSampler rejectedTokenLogSampler = new LogSampler(10, Duration.ofMinutes(1));
+
     private final SecretKey secretKey;
     private final long accessTokenExpiry;
     private final long refreshTokenExpiry;
+    private final JWSVerifier verifier;
+    private final JwtTokenMinter tokenMinter;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Timer mintAccessTimer;
+    private final Timer mintRefreshTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
 
     public JwtService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-expiry}") long accessTokenExpiry,
-            @Value("${jwt.refresh-token-expiry}") long refreshTokenExpiry) {
+            @Value("${jwt.refresh-token-expiry}") long refreshTokenExpiry,
+            VerifiedTokenCache verifiedTokenCache,
+            MeterRegistry meterRegistry) {
 
         // Ensure secret is at least 32 bytes for HS256
         byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
@@ -38,102 +55,117 @@ public class JwtService {
         }
 
         this.secretKey = new SecretKeySpec(keyBytes, "HmacSHA256");
+        this.verifier = createVerifier(secretKey);
+        this.tokenMinter = new JwtTokenMinter(secretKey);
         this.accessTokenExpiry = accessTokenExpiry;
         this.refreshTokenExpiry = refreshTokenExpiry;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.mintAccessTimer = mintTimer(meterRegistry, TokenClaims.TYPE_ACCESS);
+        this.mintRefreshTimer = mintTimer(meterRegistry, TokenClaims.TYPE_REFRESH);
+        // Only full verifications are timed; cache hits show up in the cache metrics
+        this.verifyValidTimer = verifyTimer(meterRegistry, "valid");
+        this.verifyInvalidTimer = verifyTimer(meterRegistry, "invalid");
     }
 
-    public String generateAccessToken(Long userId, String email) {
-        return generateToken(userId, email, accessTokenExpiry, "access");
+    private static Timer mintTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("jwt.mint")
+                .description("Time to mint and sign a token")
+                .tag("type", type)
+                .register(meterRegistry);
     }
 
-    public String generateRefreshToken(Long userId, String email) {
-        return generateToken(userId, email, refreshTokenExpiry, "refresh");
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.verify")
+                .description("Time to parse and verify a token that was not in the verified-token cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
-    private String generateToken(Long userId, String email, long expiryMs, String tokenType) {
+    private static JWSVerifier createVerifier(SecretKey secretKey) {
         try {
-            Date now = new Date();
-            Date expiry = new Date(now.getTime() + expiryMs);
+            // MACVerifier is immutable, so a single instance is shared by all requests
+            return new MACVerifier(secretKey);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Invalid JWT secret", e);
+        }
+    }
 
-            JWTClaimsSet claims = new JWTClaimsSet.Builder()
-                    .subject(userId.toString())
-                    .claim("email", email)
-                    .claim("type", tokenType)
-                    .issueTime(now)
-                    .expirationTime(expiry)
-                    .jwtID(UUID.randomUUID().toString())
-                    .build();
+    public String generateAccessToken(Long userId, String email) {
+        return mintAccessTimer.record(() -> generateToken(userId, email, accessTokenExpiry, TokenClaims.TYPE_ACCESS));
+    }
 
-            JWSHeader header = new JWSHeader.Builder(JWSAlgorithm.HS256)
-                    .type(JOSEObjectType.JWT)
-                    .build();
+    public String generateRefreshToken(Long userId, String email) {
+        return mintRefreshTimer.record(() -> generateToken(userId, email, refreshTokenExpiry, TokenClaims.TYPE_REFRESH));
+    }
 
-            SignedJWT signedJWT = new SignedJWT(header, claims);
-            signedJWT.sign(new MACSigner(secretKey));
+    private String generateToken(Long userId, String email, long expiryMs, String tokenType) {
+        long now = System.currentTimeMillis();
+        return tokenMinter.mint(userId, email, tokenType, now, now + expiryMs);
+    }
 
-            return signedJWT.serialize();
+    /**
+     * Parses the token once, checks its signature and expiry and returns its
+     * claims. Returns an empty result for any token that is malformed, forged or
+     * expired. Tokens that were already verified are served from
+     * {@link VerifiedTokenCache} until their expiry.
+     */
+    public Optional<TokenClaims> verifyToken(String token) {
+        return verifiedTokenCache.get(token, this::decodeAndVerify);
+    }
 
-        } catch (JOSEException e) {
-            log.error("Error generating JWT", e);
-            throw new RuntimeException("Failed to generate token", e);
-        }
+    private Optional<TokenClaims> decodeAndVerify(String token) {
+        long start = System.nanoTime();
+        Optional<TokenClaims> claims = decode(token);
+        (claims.isPresent() ? verifyValidTimer : verifyInvalidTimer)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
     }
 
-    public boolean validateToken(String token) {
+    private Optional<TokenClaims> decode(String token) {
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
-            JWSVerifier verifier = new MACVerifier(secretKey);
 
             if (!signedJWT.verify(verifier)) {
-                log.warn("Token signature verification failed");
-                return false;
+                logRejected("signature verification failed");
+                return Optional.empty();
             }
 
-            Date expiration = signedJWT.getJWTClaimsSet().getExpirationTime();
-            if (expiration.before(new Date())) {
-                log.warn("Token has expired");
-                return false;
+            JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
+            Date expiration = claimsSet.getExpirationTime();
+            if (expiration == null || !expiration.after(new Date())) {
+                // Routine: clients refresh once they see the rejection
+                log.debug("Token has expired");
+                return Optional.empty();
             }
 
-            return true;
+            return Optional.of(new TokenClaims(
+                    Long.valueOf(claimsSet.getSubject()),
+                    claimsSet.getStringClaim("email"),
+                    claimsSet.getStringClaim("type"),
+                    claimsSet.getJWTID(),
+                    expiration.toInstant()));
 
-        } catch (ParseException | JOSEException e) {
-            log.error("Error validating token", e);
-            return false;
+        } catch (ParseException | JOSEException | NumberFormatException e) {
+            logRejected(e.getMessage());
+            return Optional.empty();
         }
     }
 
-    public Long getUserIdFromToken(String token) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            return Long.parseLong(signedJWT.getJWTClaimsSet().getSubject());
-        } catch (ParseException e) {
-            log.error("Error extracting user ID from token", e);
-            return null;
+    private void logRejected(String reason) {
+        if (rejectedTokenLogSampler.shouldLog()) {
+            log.warn("Rejected token: {} ({} similar suppressed)", reason, rejectedTokenLogSampler.takeSuppressedCount());
         }
     }
 
-    public String getEmailFromToken(String token) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            return signedJWT.getJWTClaimsSet().getStringClaim("email");
-        } catch (ParseException e) {
-            log.error("Error extracting email from token", e);
-            return null;
-        }
-    }
-
-    public String getTokenType(String token) {
-        try {
-            SignedJWT signedJWT = SignedJWT.parse(token);
-            return signedJWT.getJWTClaimsSet().getStringClaim("type");
-        } catch (ParseException e) {
-            log.error("Error extracting token type", e);
-            return null;
-        }
+    public boolean validateToken(String token) {
+        return verifyToken(token).isPresent();
     }
 
     public long getAccessTokenExpiry() {
         return accessTokenExpiry;
     }
+
+    public long getRefreshTokenExpiry() {
+        return refreshTokenExpiry;
+    }
 }
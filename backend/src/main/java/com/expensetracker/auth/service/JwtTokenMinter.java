@@ -0,0 +1,132 @@
+package com.expensetracker.auth.service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Mints HS256 JWTs without going through the Nimbus object model.
+ *
+ * <p>The header segment never changes and is encoded once. Initialised
+ * {@link Mac}s and the DRBGs for jti values are borrowed from small pools, so
+ * concurrent logins do not contend on the JVM-wide {@link SecureRandom} behind
+ * {@link java.util.UUID#randomUUID()}, and virtual threads, which never reuse a
+ * per-thread instance, do not key a Mac or seed a DRBG on every login. The output
+ * is a standard compact JWS that {@link com.nimbusds.jose.crypto.MACVerifier}
+ * accepts unchanged.
+ */
+final class JwtTokenMinter {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final byte[] HEADER_SEGMENT = (BASE64URL.encodeToString(
+            "{\"typ\":\"JWT\",\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + ".")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final InstancePool<SecureRandom> JTI_RANDOMS = new InstancePool<>(JwtTokenMinter::newRandom);
+
+    private final InstancePool<Mac> macs;
+
+    JwtTokenMinter(SecretKey secretKey) {
+        // Fail fast on a bad key instead of on the first login
+        Mac mac = newMac(secretKey);
+        this.macs = new InstancePool<>(() -> newMac(secretKey));
+        macs.release(mac);
+    }
+
+    String mint(Long userId, String email, String tokenType, long issuedAtMillis, long expiresAtMillis) {
+        StringBuilder json = new StringBuilder(192)
+                .append("{\"sub\":\"").append(userId.longValue())
+                .append("\",\"email\":");
+        appendJsonString(json, email);
+        json.append(",\"type\":");
+        appendJsonString(json, tokenType);
+        json.append(",\"iat\":").append(issuedAtMillis / 1000)
+                .append(",\"exp\":").append(expiresAtMillis / 1000)
+                .append(",\"jti\":\"");
+        appendJti(json);
+        json.append("\"}");
+
+        byte[] payloadSegment = BASE64URL.encode(json.toString().getBytes(StandardCharsets.UTF_8));
+
+        Mac mac = macs.borrow();
+        mac.update(HEADER_SEGMENT);
+        mac.update(payloadSegment);
+        byte[] signature = mac.doFinal();
+        macs.release(mac);
+        byte[] signatureSegment = BASE64URL.encode(signature);
+
+        byte[] token = new byte[HEADER_SEGMENT.length + payloadSegment.length + 1 + signatureSegment.length];
+        System.arraycopy(HEADER_SEGMENT, 0, token, 0, HEADER_SEGMENT.length);
+        System.arraycopy(payloadSegment, 0, token, HEADER_SEGMENT.length, payloadSegment.length);
+        token[HEADER_SEGMENT.length + payloadSegment.length] = '.';
+        System.arraycopy(signatureSegment, 0, token, token.length - signatureSegment.length, signatureSegment.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Appends a random (version 4) UUID in its canonical text form.
+     */
+    private static void appendJti(StringBuilder out) {
+        SecureRandom random = JTI_RANDOMS.borrow();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        JTI_RANDOMS.release(random);
+        appendHex(out, msb >>> 32, 8);
+        out.append('-');
+        appendHex(out, msb >>> 16, 4);
+        out.append('-');
+        appendHex(out, msb, 4);
+        out.append('-');
+        appendHex(out, lsb >>> 48, 4);
+        out.append('-');
+        appendHex(out, lsb, 12);
+    }
+
+    private static void appendHex(StringBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    private static void appendJsonString(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    private static Mac newMac(SecretKey secretKey) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise HmacSHA256", e);
+        }
+    }
+
+    private static SecureRandom newRandom() {
+        try {
+            // A pooled DRBG instance is seeded once and, while borrowed, never blocks
+            // or synchronises with other threads
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
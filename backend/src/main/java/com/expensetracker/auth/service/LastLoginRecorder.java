@@ -0,0 +1,102 @@
+package com.expensetracker.auth.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Write-behind store for {@code users.last_login_at}.
+ *
+ * <p>Logins only record the timestamp in memory; repeated logins of the same user
+ * between flushes collapse into one entry. Pending timestamps are written in
+ * batched {@code UPDATE} statements on a short interval and on shutdown. The
+ * update never moves the column backwards, so nodes flushing in any order agree
+ * on the latest login.
+ */
+@Component
+public class LastLoginRecorder implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    private static final String UPDATE_SQL = "UPDATE users SET last_login_at = ? "
+            + "WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final ConcurrentMap<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate,
+            @Value("${auth.last-login.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.last-login.pending", this, LastLoginRecorder::getPendingCount)
+                .description("Last-login timestamps waiting to be written")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval:PT5S}",
+            initialDelayString = "${auth.last-login.flush-interval:PT5S}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Long userId : pending.keySet()) {
+            // remove() hands each timestamp to exactly one flush; a login racing
+            // with it simply starts a new entry for the next one
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt == null) {
+                continue;
+            }
+            Timestamp timestamp = Timestamp.valueOf(loginAt);
+            batch.add(new Object[] {timestamp, userId, timestamp});
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            log.debug("Flushed {} last-login timestamps", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} last-login timestamps, retrying on next flush", batch.size(), e);
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.expensetracker.auth.service;
+
+import com.expensetracker.auth.exception.ServiceOverloadedException;
+import com.expensetracker.diagnostics.PasswordMatchEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and matching on a dedicated pool sized to the number of
+ * cores, so that BCrypt work never occupies servlet request threads. The pool has
+ * a bounded queue; when it is full, callers are rejected immediately with
+ * {@link ServiceOverloadedException} instead of queueing behind a login storm.
+ *
+ * <p>Each task records how long it waited in the queue and how long the hashing
+ * itself took, so queueing delay and BCrypt cost can be told apart.
+ */
+@Service
+public class PasswordHashingService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.passwordEncoder = passwordEncoder;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time password tasks wait for a hashing thread")
+                .register(meterRegistry);
+        this.encodeTimer = hashingTimer(meterRegistry, "encode");
+        this.matchTimer = hashingTimer(meterRegistry, "match");
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Password tasks rejected because the hashing queue was full")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        log.info("Password hashing pool started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Time spent in the password encoder")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            PasswordMatchEvent event = new PasswordMatchEvent();
+            event.begin();
+            boolean matched = matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+            event.complete(matched, false);
+            return matched;
+        });
+    }
+
+    /**
+     * Matches the password and, when it matches but was hashed with different
+     * parameters than the encoder currently uses, rehashes it in the same task.
+     */
+    public CompletableFuture<PasswordMatch> matchAndUpgrade(String rawPassword, String encodedPassword) {
+        return submit(() -> {
+            PasswordMatchEvent event = new PasswordMatchEvent();
+            event.begin();
+            PasswordMatch match = matchAndUpgradeNow(rawPassword, encodedPassword);
+            event.complete(match.matched(), match.upgradedHash() != null);
+            return match;
+        });
+    }
+
+    private PasswordMatch matchAndUpgradeNow(String rawPassword, String encodedPassword) {
+        if (!matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword))) {
+            return PasswordMatch.REJECTED;
+        }
+        if (passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return new PasswordMatch(true, encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+        }
+        return PasswordMatch.ACCEPTED;
+    }
+
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size())
+                .description("Password tasks waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently busy")
+                .register(registry);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return task.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue full, rejecting request");
+            throw new ServiceOverloadedException("Server is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Outcome of {@link #matchAndUpgrade}; {@code upgradedHash} is non-null only
+     * when the stored hash should be replaced.
+     */
+    public record PasswordMatch(boolean matched, String upgradedHash) {
+
+        static final PasswordMatch ACCEPTED = new PasswordMatch(true, null);
+        static final PasswordMatch REJECTED = new PasswordMatch(false, null);
+    }
+}
@@ -0,0 +1,59 @@
+package com.expensetracker.auth.service;
+
+import com.expensetracker.auth.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes expired refresh-token sessions in small batches, each in its own
+ * transaction, so the purge never holds long locks on the table.
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenPurgeJob.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public RefreshTokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${jwt.refresh-token-purge.batch-size:500}") int batchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-purge.interval:PT1H}",
+            initialDelayString = "${jwt.refresh-token-purge.interval:PT1H}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = 0;
+        int deleted;
+
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<String> expired = refreshTokenRepository.findExpiredTokenHashes(now, PageRequest.of(0, batchSize));
+                if (!expired.isEmpty()) {
+                    refreshTokenRepository.deleteAllByIdInBatch(expired);
+                }
+                return expired.size();
+            });
+            purged += deleted;
+        } while (deleted == batchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.expensetracker.auth.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Fixed-width SHA-256 digest of a token string. Used as a compact lookup key so
+ * that raw tokens never have to be kept around or compared character by character.
+ */
+public record TokenDigest(long h0, long h1, long h2, long h3) {
+
+    // Pooled rather than per thread, so virtual threads reuse them as well
+    private static final InstancePool<MessageDigest> SHA_256 = new InstancePool<>(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    public static TokenDigest of(String token) {
+        MessageDigest digest = SHA_256.borrow();
+        byte[] bytes = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+        SHA_256.release(digest);
+        ByteBuffer hash = ByteBuffer.wrap(bytes);
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Returns the digest as 64 lowercase hex characters.
+     */
+    public String toHex() {
+        return String.format("%016x%016x%016x%016x", h0, h1, h2, h3);
+    }
+}
@@ -0,0 +1,133 @@
+package com.expensetracker.auth.service;
+
+import com.expensetracker.auth.model.RevokedAccessToken;
+import com.expensetracker.auth.repository.RevokedAccessTokenRepository;
+import com.expensetracker.kafka.TokenRevocationProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Revocation of access tokens before their expiry.
+ *
+ * <p>Revoked token ids go into in-memory Bloom filters, one per time window the
+ * length of the access-token lifetime, chosen by the token's expiry. Checking a
+ * token that was never revoked is a few bit tests; only a filter hit is confirmed
+ * against the {@code revoked_access_tokens} table. Windows older than the current
+ * one can only hold expired tokens and are dropped whole, so the filters never
+ * need to delete entries. Revocations are shared between nodes over Kafka.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final TokenRevocationProducer tokenRevocationProducer;
+    private final long windowMillis;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final ConcurrentMap<Long, RevocationBloomFilter> filters = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(RevokedAccessTokenRepository revokedAccessTokenRepository,
+            TokenRevocationProducer tokenRevocationProducer,
+            @Value("${jwt.access-token-expiry}") long accessTokenExpiry,
+            @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.tokenRevocationProducer = tokenRevocationProducer;
+        this.windowMillis = accessTokenExpiry;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Revokes an access token on this node, records it for exact confirmation and
+     * announces it to the other nodes. Revoking a token that is already revoked,
+     * as a repeated logout with the same token does, changes nothing.
+     */
+    @Transactional
+    public void revoke(TokenClaims claims) {
+        if (claims.jti() == null || claims.isExpiredAt(Instant.now()) || isRevoked(claims)) {
+            return;
+        }
+
+        revokedAccessTokenRepository.save(new RevokedAccessToken(claims.jti(), toLocalDateTime(claims.expiresAt())));
+        addToFilter(claims.jti(), claims.expiresAt());
+        tokenRevocationProducer.sendTokenRevokedEvent(claims.jti(), claims.expiresAt());
+    }
+
+    /**
+     * Applies a revocation announced by another node; that node has already
+     * stored it.
+     */
+    public void applyRemoteRevocation(String jti, Instant expiresAt) {
+        if (expiresAt.isAfter(Instant.now())) {
+            addToFilter(jti, expiresAt);
+        }
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        if (claims.jti() == null) {
+            return false;
+        }
+
+        RevocationBloomFilter filter = filters.get(windowOf(claims.expiresAt()));
+        if (filter == null || !filter.mightContain(claims.jti())) {
+            return false;
+        }
+
+        return revokedAccessTokenRepository.existsById(claims.jti());
+    }
+
+    /**
+     * Rebuilds the filters from the revocations that are still relevant, so a
+     * restarted node does not forget logouts made before it came up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        int loaded = 0;
+        for (RevokedAccessToken revoked : revokedAccessTokenRepository.findUnexpired(LocalDateTime.now())) {
+            addToFilter(revoked.getJti(), revoked.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+            loaded++;
+        }
+        log.info("Loaded {} revoked access tokens", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.access-token-expiry}", initialDelayString = "${jwt.access-token-expiry}")
+    @Transactional
+    public void purgeExpired() {
+        long currentWindow = windowOf(Instant.now());
+        filters.keySet().removeIf(window -> window < currentWindow);
+
+        int purged = revokedAccessTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired access token revocations", purged);
+        }
+    }
+
+    private void addToFilter(String jti, Instant expiresAt) {
+        filters.computeIfAbsent(windowOf(expiresAt),
+                window -> new RevocationBloomFilter(expectedRevocations, falsePositiveRate))
+                .add(jti);
+    }
+
+    private long windowOf(Instant instant) {
+        return instant.toEpochMilli() / windowMillis;
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,196 @@
+package com.expensetracker.auth.service;
+
+import com.expensetracker.auth.dto.ProvisionedUser;
+import com.expensetracker.auth.dto.ProvisioningResult;
+import com.expensetracker.auth.model.User;
+import com.expensetracker.auth.repository.UserRepository;
+import com.expensetracker.kafka.UserLifecycleProducer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates users in bulk from an NDJSON stream, one {@link ProvisionedUser} per line.
+ *
+ * <p>Lines are read one at a time and committed in transactions of
+ * {@code auth.provisioning.batch-size} users. Within a transaction the persistence
+ * context is flushed and cleared every JDBC batch, so memory use does not grow with
+ * the size of the upload. Addresses that are already registered, or repeated within
+ * the upload, are skipped, which makes a failed upload safe to send again.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final UserLifecycleProducer userLifecycleProducer;
+    private final Validator validator;
+    private final ObjectReader lineReader;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int jdbcBatchSize;
+    private final Counter createdCounter;
+    private final Counter skippedCounter;
+    private final Counter rejectedCounter;
+
+    public UserProvisioningService(EntityManager entityManager, UserRepository userRepository,
+            UserLifecycleProducer userLifecycleProducer, Validator validator, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${auth.provisioning.batch-size:1000}") int batchSize,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize,
+            MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.userLifecycleProducer = userLifecycleProducer;
+        this.validator = validator;
+        this.lineReader = objectMapper.readerFor(ProvisionedUser.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.jdbcBatchSize = jdbcBatchSize;
+        this.createdCounter = register(meterRegistry, "created");
+        this.skippedCounter = register(meterRegistry, "skipped");
+        this.rejectedCounter = register(meterRegistry, "rejected");
+    }
+
+    public ProvisioningResult provision(InputStream ndjson) throws IOException {
+        ProvisioningResult result = new ProvisioningResult();
+        // Normalized email -> user, in upload order
+        Map<String, User> batch = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ProvisionedUser entry;
+                try {
+                    entry = lineReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    reject(result, lineNumber, "Malformed JSON");
+                    continue;
+                }
+                Set<ConstraintViolation<ProvisionedUser>> violations = validator.validate(entry);
+                if (!violations.isEmpty()) {
+                    reject(result, lineNumber, violations.iterator().next().getMessage());
+                    continue;
+                }
+
+                User user = User.builder()
+                        .email(entry.getEmail())
+                        .name(entry.getName())
+                        .passwordHash(entry.getPasswordHash() != null ? entry.getPasswordHash() : "")
+                        .build();
+                if (batch.putIfAbsent(user.getEmail(), user) != null) {
+                    skip(result, 1);
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    insert(batch, result);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, result);
+        }
+
+        log.info("Provisioned users: {} created, {} skipped, {} rejected",
+                result.getCreated(), result.getSkipped(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Inserts one batch in its own transaction. A concurrent signup may register one
+     * of the addresses between the existence check and the flush; the batch is then
+     * retried once, and that address is found and skipped. The flushes are explicit
+     * calls on the entity manager, so the violation arrives as Hibernate's own
+     * exception rather than one translated at the commit.
+     */
+    private void insert(Map<String, User> batch, ProvisioningResult result) {
+        List<User> created;
+        try {
+            created = transactionTemplate.execute(status -> insertNew(batch));
+        } catch (ConstraintViolationException | DataIntegrityViolationException e) {
+            log.debug("Provisioning batch conflicted with a concurrent write; retrying");
+            batch.values().forEach(user -> user.setId(null));
+            created = transactionTemplate.execute(status -> insertNew(batch));
+        }
+        createdCounter.increment(created.size());
+        result.addCreated(created.size());
+        skip(result, batch.size() - created.size());
+    }
+
+    private List<User> insertNew(Map<String, User> batch) {
+        // Bulk-loaded users would only evict the accounts that are actually in use
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(batch.keySet()));
+        List<User> created = new ArrayList<>(batch.size());
+        for (User user : batch.values()) {
+            if (existing.contains(user.getEmail())) {
+                continue;
+            }
+            entityManager.persist(user);
+            created.add(user);
+            if (created.size() % jdbcBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        userLifecycleProducer.sendUserCreatedEvents(created);
+        return created;
+    }
+
+    private void reject(ProvisioningResult result, long lineNumber, String message) {
+        rejectedCounter.increment();
+        result.reject(lineNumber, message);
+    }
+
+    private void skip(ProvisioningResult result, long count) {
+        skippedCounter.increment(count);
+        result.addSkipped(count);
+    }
+
+    private static Counter register(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.provisioning.users")
+                .description("Users in bulk provisioning uploads, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
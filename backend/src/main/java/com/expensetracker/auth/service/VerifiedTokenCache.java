@@ -0,0 +1,100 @@
+package com.expensetracker.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size-bounded cache of tokens whose signature and expiry have already been
+ * checked. Entries are keyed by the SHA-256 digest of the token and expire at the
+ * token's own {@code exp}, so a cached entry is never served past its lifetime.
+ * Only successful verifications are cached. A maximum size of zero disables
+ * caching entirely.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final Cache<TokenDigest, TokenClaims> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.verified-token-cache.max-size:10000}") long maxSize) {
+        this.cache = maxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<TokenClaims> get(String token, Function<String, Optional<TokenClaims>> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+
+        TokenDigest key = TokenDigest.of(token);
+        TokenClaims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<TokenClaims> verified = verifier.apply(token);
+        verified.ifPresent(claims -> cache.put(key, claims));
+        return verified;
+    }
+
+    /**
+     * Drops a token's entry, if any, so its next verification is a full one.
+     */
+    public void invalidate(String token) {
+        if (cache != null) {
+            cache.invalidate(TokenDigest.of(token));
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified-tokens");
+        }
+    }
+
+    public long hitCount() {
+        return cache != null ? cache.stats().hitCount() : 0;
+    }
+
+    public long missCount() {
+        return cache != null ? cache.stats().missCount() : 0;
+    }
+
+    public long size() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, TokenClaims> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, TokenClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, TokenClaims claims, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, TokenClaims claims, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.expensetracker.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder whose cost factor is chosen for the hardware it runs on.
+ *
+ * <p>At startup the hash is timed at the minimum cost and the largest cost whose
+ * projected duration stays within the latency target is selected; every extra
+ * cost step doubles the work. BCrypt stores the cost in each hash
+ * ({@code $2a$NN$...}), so existing hashes keep verifying after the target
+ * changes, and {@link #upgradeEncoding(String)} reports hashes made with a
+ * lower cost so they can be replaced on the next successful login. Hashes with
+ * a higher cost are kept: a node that calibrates lower must never weaken them.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+
+    public CalibratedPasswordEncoder(int strength) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Picks the highest cost between {@code minStrength} and {@code maxStrength}
+     * whose hash time on this machine does not exceed {@code targetLatency}.
+     */
+    public static CalibratedPasswordEncoder calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_PASSWORD); // warm up
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(CALIBRATION_PASSWORD);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long projectedNanos = bestNanos;
+        while (strength < maxStrength && projectedNanos * 2 <= targetLatency.toNanos()) {
+            strength++;
+            projectedNanos *= 2;
+        }
+
+        log.info("Calibrated BCrypt cost {} (~{} ms per hash, target {} ms)",
+                strength, projectedNanos / 1_000_000, targetLatency.toMillis());
+        return new CalibratedPasswordEncoder(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -1,17 +1,31 @@
 package com.expensetracker.config;
 
+import com.expensetracker.auth.exception.AuthException;
+import com.expensetracker.auth.exception.ServiceOverloadedException;
+import com.expensetracker.logging.LogSampler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -19,9 +33,65 @@ public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final ObjectMapper objectMapper;
+
+    // Auth failures are shared constants, so this holds one entry per constant
+    private final ConcurrentMap<AuthException, ResponseEntity<byte[]>> authFailureResponses =
+            new ConcurrentHashMap<>();
+
+    private final LogSampler authFailureLogSampler = new LogSampler(10, Duration.ofMinutes(1));
+    private final LogSampler runtimeExceptionLogSampler = new LogSampler(10, Duration.ofMinutes(1));
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Expected authentication failures. The response, body bytes included, is
+     * built once per failure and reused.
+     */
+    @ExceptionHandler(AuthException.class)
+    public ResponseEntity<byte[]> handleAuthException(AuthException ex) {
+        if (authFailureLogSampler.shouldLog()) {
+            log.info("Authentication failure: {} ({} similar suppressed)",
+                    ex.getMessage(), authFailureLogSampler.takeSuppressedCount());
+        }
+        return authFailureResponses.computeIfAbsent(ex, this::buildAuthFailureResponse);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(buildErrorBody(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+
+    /**
+     * A write that lost a race with a concurrent one, such as two requests
+     * inserting the same key. The driver's message names tables, constraints
+     * and values, so it is logged but never returned.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (runtimeExceptionLogSampler.shouldLog()) {
+            log.warn("Data integrity violation: {} ({} similar suppressed)",
+                    ex.getMostSpecificCause().getMessage(), runtimeExceptionLogSampler.takeSuppressedCount());
+        }
+        return buildErrorResponse(HttpStatus.CONFLICT, "The request conflicts with the current state of the resource");
+    }
+
+    @ExceptionHandler({DataAccessException.class, PersistenceException.class})
+    public ResponseEntity<Map<String, Object>> handlePersistenceException(RuntimeException ex) {
+        log.error("Persistence exception", ex);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(RuntimeException ex) {
-        log.error("Runtime exception: {}", ex.getMessage());
+        if (runtimeExceptionLogSampler.shouldLog()) {
+            log.error("Runtime exception: {} ({} similar suppressed)",
+                    ex.getMessage(), runtimeExceptionLogSampler.takeSuppressedCount());
+        }
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
@@ -49,12 +119,30 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
     }
 
+    private ResponseEntity<byte[]> buildAuthFailureResponse(AuthException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", HttpStatus.BAD_REQUEST.getReasonPhrase());
+        body.put("message", ex.getMessage());
+        try {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise error body", e);
+        }
+    }
+
     private ResponseEntity<Map<String, Object>> buildErrorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(buildErrorBody(status, message));
+    }
+
+    private Map<String, Object> buildErrorBody(HttpStatus status, String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now().toString());
         response.put("status", status.value());
         response.put("error", status.getReasonPhrase());
         response.put("message", message);
-        return ResponseEntity.status(status).body(response);
+        return response;
     }
 }
@@ -0,0 +1,29 @@
+package com.expensetracker.config;
+
+import com.expensetracker.auth.service.FileGoogleSigningKeySource;
+import com.expensetracker.auth.service.GoogleSigningKeySource;
+import com.expensetracker.auth.service.HttpGoogleSigningKeySource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+public class GoogleAuthConfig {
+
+    /**
+     * Google's certificate endpoint by default; a local certificate file when
+     * {@code google.signing-keys.file} is set (tests, offline environments).
+     */
+    @Bean
+    public GoogleSigningKeySource googleSigningKeySource(
+            @Value("${google.signing-keys.file:}") String file,
+            @Value("${google.signing-keys.file-ttl:1h}") Duration fileTimeToLive) {
+        if (!file.isBlank()) {
+            return new FileGoogleSigningKeySource(Path.of(file), fileTimeToLive);
+        }
+        return new HttpGoogleSigningKeySource();
+    }
+}
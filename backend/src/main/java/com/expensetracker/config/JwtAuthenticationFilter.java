@@ -1,6 +1,8 @@
 package com.expensetracker.config;
 
-import com.expensetracker.auth.service.JwtService;
+import com.expensetracker.auth.service.AccessTokenVerifier;
+import com.expensetracker.auth.service.TokenClaims;
+import com.expensetracker.diagnostics.TokenParseEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,10 +24,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    private final JwtService jwtService;
+    /** Request attribute holding the verified {@link TokenClaims} of the bearer token. */
+    public static final String CLAIMS_ATTRIBUTE = "com.expensetracker.auth.service.TokenClaims";
 
-    public JwtAuthenticationFilter(JwtService jwtService) {
-        this.jwtService = jwtService;
+    private final AccessTokenVerifier accessTokenVerifier;
+
+    public JwtAuthenticationFilter(AccessTokenVerifier accessTokenVerifier) {
+        this.accessTokenVerifier = accessTokenVerifier;
     }
 
     @Override
@@ -43,29 +48,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
+            TokenParseEvent event = new TokenParseEvent();
+            event.begin();
+            TokenClaims claims = accessTokenVerifier.verify(jwt);
+            event.complete(claims != null);
 
-            if (jwtService.validateToken(jwt)) {
-                Long userId = jwtService.getUserIdFromToken(jwt);
-                String email = jwtService.getEmailFromToken(jwt);
-                String tokenType = jwtService.getTokenType(jwt);
-
-                // Only allow access tokens for API requests
-                if (!"access".equals(tokenType)) {
-                    log.warn("Attempt to use non-access token for API request");
-                    filterChain.doFilter(request, response);
-                    return;
-                }
+            if (claims != null) {
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
 
-                if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userId,
-                            email,
+                            claims.userId(),
+                            claims.email(),
                             Collections.emptyList());
 
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    log.debug("Authenticated user ID: {} with email: {}", userId, email);
+                    log.debug("Authenticated user ID: {}", claims.userId());
                 }
             }
         } catch (Exception e) {
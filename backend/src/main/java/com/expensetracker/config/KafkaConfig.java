@@ -1,6 +1,7 @@
 package com.expensetracker.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -18,6 +19,12 @@ public class KafkaConfig {
     @Value("${kafka.topics.backup-audit:backup-audit}")
     private String backupAuditTopic;
 
+    @Value("${kafka.topics.token-revocation:token-revocation}")
+    private String tokenRevocationTopic;
+
+    @Value("${jwt.access-token-expiry}")
+    private long accessTokenExpiry;
+
     @Bean
     public NewTopic userLifecycleTopic() {
         return TopicBuilder.name(java.util.Objects.requireNonNull(userLifecycleTopic))
@@ -26,6 +33,19 @@ public class KafkaConfig {
                 .build();
     }
 
+    /**
+     * Revocations only matter until the revoked access token expires, so the topic
+     * keeps events for one access-token lifetime.
+     */
+    @Bean
+    public NewTopic tokenRevocationTopic() {
+        return TopicBuilder.name(tokenRevocationTopic)
+                .partitions(3)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, String.valueOf(accessTokenExpiry))
+                .build();
+    }
+
     @Bean
     public NewTopic backupAuditTopic() {
         return TopicBuilder.name(backupAuditTopic)
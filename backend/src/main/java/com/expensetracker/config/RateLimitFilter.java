@@ -0,0 +1,280 @@
+package com.expensetracker.config;
+
+import com.expensetracker.auth.service.TokenDigest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the public auth endpoints before any authentication work is done.
+ *
+ * <p>Every configured endpoint has a token bucket per client IP and, for bodies
+ * carrying an {@code email}, one per address, keyed by the address's SHA-256 so
+ * raw emails are never held. Buckets live in a size-bounded Caffeine map and are
+ * evicted once idle. A rejected request gets a prebuilt 429 body without touching
+ * the database or the password encoder.
+ *
+ * <p>Endpoints with a per-email limit never let a body through unmetered: a body
+ * too large to inspect is refused with 413, and one that is not a JSON object
+ * with exactly one string {@code email} with 400. Duplicate keys are refused
+ * because Jackson binds the last value while a filter could be charging another.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    /** Bodies larger than this are refused on endpoints with a per-email limit. */
+    private static final int MAX_INSPECTED_BODY = 8 * 1024;
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY = ("{\"status\":429,\"error\":\"Too Many Requests\","
+            + "\"message\":\"Too many attempts, please try again later\"}").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] PAYLOAD_TOO_LARGE_BODY = ("{\"status\":413,\"error\":\"Payload Too Large\","
+            + "\"message\":\"Request body is too large\"}").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] MISSING_EMAIL_BODY = ("{\"status\":400,\"error\":\"Bad Request\","
+            + "\"message\":\"Request body must be a JSON object with one email field\"}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final Map<String, LimitedEndpoint> endpointsByPath = new HashMap<>();
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final JsonFactory jsonFactory;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.enabled = properties.isEnabled();
+        this.jsonFactory = objectMapper.getFactory();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+
+        properties.getEndpoints().forEach((name, endpoint) -> endpointsByPath.put(endpoint.getPath(),
+                new LimitedEndpoint(name, endpoint.getPerIp(), endpoint.getPerEmail())));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || endpointOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        LimitedEndpoint endpoint = endpointOf(request);
+        long now = System.nanoTime();
+
+        if (endpoint.perIp() != null) {
+            long waitNanos = consume(new BucketKey(endpoint.name(), request.getRemoteAddr()), endpoint.perIp(), now);
+            if (waitNanos > 0) {
+                throttle(response, waitNanos, endpoint, "IP");
+                return;
+            }
+        }
+
+        HttpServletRequest downstream = request;
+        if (endpoint.perEmail() != null) {
+            BodyPrefixRequest buffered = new BodyPrefixRequest(request);
+            downstream = buffered;
+            byte[] body = buffered.prefix();
+            if (body.length > MAX_INSPECTED_BODY) {
+                refuse(response, HttpStatus.PAYLOAD_TOO_LARGE, PAYLOAD_TOO_LARGE_BODY, endpoint);
+                return;
+            }
+            String email = extractEmail(body);
+            if (email == null) {
+                refuse(response, HttpStatus.BAD_REQUEST, MISSING_EMAIL_BODY, endpoint);
+                return;
+            }
+            TokenDigest emailKey = TokenDigest.of(email.trim().toLowerCase(Locale.ROOT));
+            long waitNanos = consume(new BucketKey(endpoint.name(), emailKey), endpoint.perEmail(), now);
+            if (waitNanos > 0) {
+                throttle(response, waitNanos, endpoint, "email");
+                return;
+            }
+        }
+
+        filterChain.doFilter(downstream, response);
+    }
+
+    /**
+     * Looks the endpoint up by the decoded path within the application, with path
+     * parameters and duplicate slashes removed: the path the request is dispatched
+     * on. The raw URI would let {@code /api/auth/%6Cogin} or
+     * {@code /api/auth/login;x} reach the login endpoint unthrottled.
+     */
+    private LimitedEndpoint endpointOf(HttpServletRequest request) {
+        return endpointsByPath.get(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    private long consume(BucketKey key, RateLimitProperties.Limit limit, long now) {
+        return buckets.get(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerMinute(), now))
+                .tryConsume(now);
+    }
+
+    private void throttle(HttpServletResponse response, long waitNanos, LimitedEndpoint endpoint, String dimension)
+            throws IOException {
+        log.debug("Rate limit exceeded on {} per {}", endpoint.name(), dimension);
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        write(response, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY);
+    }
+
+    private void refuse(HttpServletResponse response, HttpStatus status, byte[] body, LimitedEndpoint endpoint)
+            throws IOException {
+        log.debug("Refused body without a meterable email on {} ({})", endpoint.name(), status.value());
+        write(response, status, body);
+    }
+
+    private static void write(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Streams the whole body and returns its top-level {@code email} value, or
+     * {@code null} if there is none, it is not a string, or the body is not a
+     * complete JSON object. Any duplicate key makes the body unreadable.
+     */
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String email = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("email".equals(field) && value == JsonToken.VALUE_STRING) {
+                    email = parser.getText();
+                }
+                parser.skipChildren();
+            }
+            // The object must close, and nothing may follow it
+            return token == JsonToken.END_OBJECT && parser.nextToken() == null ? email : null;
+        } catch (IOException e) {
+            // Malformed, truncated or duplicate-key bodies cannot be metered
+            return null;
+        }
+    }
+
+    private record LimitedEndpoint(String name, RateLimitProperties.Limit perIp, RateLimitProperties.Limit perEmail) {
+    }
+
+    private record BucketKey(String endpoint, Object client) {
+    }
+
+    /**
+     * Reads up to {@link #MAX_INSPECTED_BODY} + 1 bytes of the body up front and
+     * replays them, followed by whatever the client sent beyond that. Readiness,
+     * end of stream and read listeners are those of the original stream once the
+     * replayed bytes are used up.
+     */
+    private static final class BodyPrefixRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final ByteArrayInputStream replay;
+        private final ServletInputStream original;
+
+        BodyPrefixRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.original = request.getInputStream();
+            this.prefix = original.readNBytes(MAX_INSPECTED_BODY + 1);
+            this.replay = new ByteArrayInputStream(prefix);
+        }
+
+        byte[] prefix() {
+            return prefix;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+
+                @Override
+                public int read() throws IOException {
+                    int b = replay.read();
+                    return b >= 0 ? b : original.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    if (len == 0) {
+                        return 0;
+                    }
+                    int read = replay.read(b, off, len);
+                    return read > 0 ? read : original.read(b, off, len);
+                }
+
+                @Override
+                public int available() throws IOException {
+                    return replay.available() > 0 ? replay.available() : original.available();
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return replay.available() == 0 && original.isFinished();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return replay.available() > 0 || original.isReady();
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    original.setReadListener(readListener);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
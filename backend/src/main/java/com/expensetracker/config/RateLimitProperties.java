@@ -0,0 +1,119 @@
+package com.expensetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Request limits for the public auth endpoints, bound from {@code auth.rate-limit}.
+ * Each endpoint is limited per client IP and, where the request carries one, per
+ * email address.
+ */
+@ConfigurationProperties(prefix = "auth.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on buckets kept in memory across all endpoints and clients. */
+    private long maxBuckets = 100_000;
+
+    /** Buckets not used for this long are dropped; an idle bucket is full anyway. */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(long maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    public static class Endpoint {
+
+        /** Request path, matched exactly for POST requests. */
+        private String path;
+
+        private Limit perIp;
+
+        /** Only applied when the JSON body has an {@code email} field. */
+        private Limit perEmail;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Limit getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(Limit perIp) {
+            this.perIp = perIp;
+        }
+
+        public Limit getPerEmail() {
+            return perEmail;
+        }
+
+        public void setPerEmail(Limit perEmail) {
+            this.perEmail = perEmail;
+        }
+    }
+
+    /**
+     * A token bucket holding up to {@code capacity} requests, refilled at
+     * {@code refillPerMinute}.
+     */
+    public static class Limit {
+
+        private int capacity;
+        private int refillPerMinute;
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRefillPerMinute() {
+            return refillPerMinute;
+        }
+
+        public void setRefillPerMinute(int refillPerMinute) {
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.expensetracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Read replica connection, bound from {@code spring.datasource.replica}. Pool
+ * settings go under {@code spring.datasource.replica.hikari}, like the primary's.
+ * Username and password default to the primary's.
+ */
+@ConfigurationProperties(prefix = "spring.datasource.replica")
+public class ReadReplicaProperties {
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /** Read-only transactions go to the primary while the replica is further behind than this. */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag;
+    }
+}
@@ -0,0 +1,111 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Measures how far the read replica is behind the primary and decides whether
+ * read-only transactions may use it. A replica that is too far behind, or cannot
+ * be reached, is skipped until a later check finds it caught up again.
+ *
+ * <p>Lag is read from the replica itself: on PostgreSQL, the age of the last
+ * replayed transaction unless all received WAL has been replayed; on MySQL,
+ * {@code Seconds_Behind_Source}. Other databases are only checked for
+ * connectivity.
+ */
+class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String POSTGRESQL_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+    private static final String MYSQL_LAG_SQL = "SHOW REPLICA STATUS";
+    private static final String CONNECTIVITY_SQL = "SELECT 0";
+
+    private final JdbcTemplate replica;
+    private final DatabaseDriver driver;
+    private final Duration maxLag;
+
+    // Starts out usable so that a replica that fails the first check is reported
+    private volatile boolean replicaUsable = true;
+    private volatile double lagSeconds = Double.NaN;
+
+    ReplicaLagMonitor(DataSource replica, String replicaUrl, Duration maxLag) {
+        this.replica = new JdbcTemplate(replica);
+        this.driver = DatabaseDriver.fromJdbcUrl(replicaUrl);
+        this.maxLag = maxLag;
+        check();
+    }
+
+    boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica at the last check")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("datasource.replica.active", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("1 while read-only transactions are sent to the read replica")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval:PT1S}",
+            initialDelayString = "${spring.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        boolean usable;
+        try {
+            lagSeconds = measureLagSeconds();
+            usable = lagSeconds <= maxLag.toMillis() / 1000.0;
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (replicaUsable) {
+                log.warn("Read replica unreachable, routing reads to the primary", e);
+            }
+        }
+
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Read replica available (lag {}s), routing read-only transactions to it", lagSeconds);
+            } else if (!Double.isNaN(lagSeconds)) {
+                log.warn("Read replica {}s behind (max {}s), routing reads to the primary",
+                        lagSeconds, maxLag.toMillis() / 1000.0);
+            }
+            replicaUsable = usable;
+        }
+    }
+
+    private double measureLagSeconds() {
+        switch (driver) {
+            case POSTGRESQL:
+                // Null until the replica has replayed its first transaction
+                Double lag = replica.queryForObject(POSTGRESQL_LAG_SQL, Double.class);
+                return lag != null ? lag : Double.POSITIVE_INFINITY;
+            case MYSQL:
+                // No row: not configured as a replica. A null lag: replication is stopped.
+                List<Double> lags = replica.query(MYSQL_LAG_SQL, (rs, rowNum) -> {
+                    long seconds = rs.getLong("Seconds_Behind_Source");
+                    return rs.wasNull() ? Double.POSITIVE_INFINITY : seconds;
+                });
+                return lags.isEmpty() ? 0 : lags.get(0);
+            default:
+                replica.queryForObject(CONNECTIVITY_SQL, Integer.class);
+                return 0;
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.expensetracker.config;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -14,39 +18,91 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
+    static final String PROVISIONING_KEY_HEADER = "X-Provisioning-Key";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ManagementPortRequestMatcher managementPort;
+    private final byte[] provisioningKey;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+            ManagementPortRequestMatcher managementPort,
+            @Value("${auth.provisioning.key:}") String provisioningKey) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.managementPort = managementPort;
+        this.provisioningKey = provisioningKey.getBytes(StandardCharsets.UTF_8);
     }
 
+    /**
+     * Requests to the actuator's own server on {@code management.server.port}. That
+     * port only serves the exposed endpoints and is never published through the
+     * load balancer, so reaching it is the authorisation.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain managementSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(managementPort)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (CompletableFuture and streamed responses) resume a
+                        // request that was already authorised; the JWT filter does not re-run on them
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Introspection is for other services and needs a caller token
+                        .requestMatchers("/api/auth/introspect").authenticated()
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
-                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        // Metrics and flight recordings (thread and SQL detail) are only served
+                        // by the management chain
+                        .requestMatchers("/actuator/**").denyAll()
+                        // Bulk provisioning is for operators' tooling, not users; without a
+                        // configured key it is closed
+                        .requestMatchers("/api/provisioning/**").access((authentication, context) ->
+                                new AuthorizationDecision(hasProvisioningKey(
+                                        context.getRequest().getHeader(PROVISIONING_KEY_HEADER))))
                         .requestMatchers("/privacy-policy.html", "/privacy").permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated())
                 .headers(headers -> headers.frameOptions(frame -> frame.sameOrigin())) // For H2 console
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Throttle before any token parsing or password hashing happens
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private boolean hasProvisioningKey(String presented) {
+        return provisioningKey.length > 0 && presented != null
+                && MessageDigest.isEqual(provisioningKey, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -60,8 +116,23 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt with a cost calibrated to {@code auth.password-hashing.target-latency}
+     * on this machine. Set {@code auth.password-hashing.strength} to pin the cost,
+     * e.g. when nodes on different hardware share one database and would otherwise
+     * raise every hash to the cost of the fastest node. Calibration never goes
+     * below {@code min-strength}, 12 by default, the cost hashes had before
+     * calibration existed.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.password-hashing.strength:0}") int strength,
+            @Value("${auth.password-hashing.target-latency:250ms}") Duration targetLatency,
+            @Value("${auth.password-hashing.min-strength:12}") int minStrength,
+            @Value("${auth.password-hashing.max-strength:14}") int maxStrength) {
+        if (strength > 0) {
+            return new CalibratedPasswordEncoder(strength);
+        }
+        return CalibratedPasswordEncoder.calibrate(targetLatency, minStrength, maxStrength);
     }
 }
@@ -0,0 +1,45 @@
+package com.expensetracker.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>The whole bucket state is a single "theoretical arrival time": the instant at
+ * which the bucket would be full again. Taking a token pushes that instant forward
+ * by one refill interval, and the request is rejected when the instant would move
+ * more than {@code capacity} intervals into the future. One compare-and-set per
+ * request, no timer and no lock.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, int refillPerMinute, long nowNanos) {
+        this.intervalNanos = 60_000_000_000L / Math.max(1, refillPerMinute);
+        this.burstNanos = intervalNanos * Math.max(1, capacity);
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if the token was taken, otherwise the nanoseconds until one is
+     *         available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
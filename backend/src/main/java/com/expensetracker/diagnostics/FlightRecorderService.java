@@ -0,0 +1,119 @@
+package com.expensetracker.diagnostics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Continuous, bounded flight recording of the JVM and the application's stage
+ * events. The recording keeps only the last {@code max-age} or {@code max-size}
+ * of data on local disk; {@link #dump()} snapshots it on demand.
+ *
+ * <p>Application events are recorded only when they take at least
+ * {@code event-threshold}, so that a busy node records the slow calls rather
+ * than every call. Events describing the process environment and JVM
+ * arguments are left out, since they can carry secrets passed via environment.
+ */
+@Service
+@ConditionalOnProperty(name = "diagnostics.flight-recorder.enabled", havingValue = "true")
+public class FlightRecorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final List<Class<? extends Event>> STAGE_EVENTS = List.of(
+            TokenParseEvent.class,
+            PasswordMatchEvent.class,
+            RepositoryCallEvent.class,
+            GoogleTokenVerificationEvent.class,
+            KafkaPublishEvent.class);
+
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration eventThreshold;
+
+    private Recording recording;
+
+    public FlightRecorderService(
+            @Value("${diagnostics.flight-recorder.settings:default}") String settings,
+            @Value("${diagnostics.flight-recorder.max-age:15m}") Duration maxAge,
+            @Value("${diagnostics.flight-recorder.max-size:100MB}") DataSize maxSize,
+            @Value("${diagnostics.flight-recorder.event-threshold:1ms}") Duration eventThreshold) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.eventThreshold = eventThreshold;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, ParseException {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight recorder is not available in this JVM, continuous recording disabled");
+            return;
+        }
+
+        Recording continuous = new Recording(Configuration.getConfiguration(settings));
+        continuous.setName("expense-tracker-continuous");
+        continuous.setToDisk(true);
+        continuous.setMaxAge(maxAge);
+        continuous.setMaxSize(maxSize.toBytes());
+        SENSITIVE_EVENTS.forEach(continuous::disable);
+        for (Class<? extends Event> eventType : STAGE_EVENTS) {
+            continuous.enable(eventType).withThreshold(eventThreshold);
+        }
+        continuous.start();
+        this.recording = continuous;
+
+        log.info("Continuous flight recording started ({} settings, max age {}, max size {})",
+                settings, maxAge, maxSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Writes the data recorded so far to a new temporary file and returns its
+     * path, or {@code null} when no recording is running. The continuous recording
+     * keeps running; the caller is responsible for deleting the file.
+     */
+    public Path dump() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+
+        Path file = Files.createTempFile("expense-tracker-", ".jfr");
+        // copy(true) yields a stopped snapshot that includes the chunk still being written
+        try (Recording snapshot = recording.copy(true)) {
+            snapshot.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+}
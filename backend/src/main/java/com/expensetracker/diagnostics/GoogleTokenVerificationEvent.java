@@ -0,0 +1,30 @@
+package com.expensetracker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Verification of a Google ID token against the cached signing keys. Only the
+ * first verification after startup can include a key fetch.
+ */
+@Name("com.expensetracker.GoogleTokenVerification")
+@Label("Google Token Verification")
+@Category({"Expense Tracker", "Auth"})
+@Description("Google ID token parsed and its claims and signature checked")
+@StackTrace(false)
+public final class GoogleTokenVerificationEvent extends StageEvent {
+
+    @Label("Verified")
+    private boolean verified;
+
+    public void complete(boolean verified) {
+        end();
+        if (shouldCommit()) {
+            this.verified = verified;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.expensetracker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Kafka send, from the call to {@code KafkaTemplate.send} until the broker
+ * acknowledges or the send fails. The event is committed from the completion
+ * callback, so its thread is the producer's network thread (or the callback
+ * executor), not the request thread that started it.
+ */
+@Name("com.expensetracker.KafkaPublish")
+@Label("Kafka Publish")
+@Category({"Expense Tracker", "Kafka"})
+@Description("Event published to Kafka, until acknowledged")
+@StackTrace(false)
+public final class KafkaPublishEvent extends StageEvent {
+
+    @Label("Topic")
+    private String topic;
+
+    @Label("Event Type")
+    private String eventType;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void complete(String topic, String eventType, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.topic = topic;
+            this.eventType = eventType;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
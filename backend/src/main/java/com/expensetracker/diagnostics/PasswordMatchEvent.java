@@ -0,0 +1,34 @@
+package com.expensetracker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Password match on a hashing thread, including a rehash to the current cost
+ * when one was needed. Time spent waiting for the thread is not included.
+ */
+@Name("com.expensetracker.PasswordMatch")
+@Label("Password Match")
+@Category({"Expense Tracker", "Auth"})
+@Description("Password compared against its stored hash")
+@StackTrace(false)
+public final class PasswordMatchEvent extends StageEvent {
+
+    @Label("Matched")
+    private boolean matched;
+
+    @Label("Rehashed")
+    private boolean rehashed;
+
+    public void complete(boolean matched, boolean rehashed) {
+        end();
+        if (shouldCommit()) {
+            this.matched = matched;
+            this.rehashed = rehashed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.expensetracker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Invocation of a Spring Data repository method, recorded by
+ * {@link RepositoryEventsPostProcessor}.
+ */
+@Name("com.expensetracker.RepositoryCall")
+@Label("Repository Call")
+@Category({"Expense Tracker", "Database"})
+@Description("Spring Data repository method invocation")
+@StackTrace(false)
+public final class RepositoryCallEvent extends StageEvent {
+
+    @Label("Repository")
+    private String repository;
+
+    @Label("Method")
+    private String method;
+
+    @Label("Failed")
+    private boolean failed;
+
+    public void complete(String repository, String method, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.method = method;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.expensetracker.diagnostics;
+
+import jdk.jfr.Event;
+
+/**
+ * Base type of the application's flight recorder events.
+ *
+ * <p>Events follow the JFR pattern: create, {@link #begin()}, then call the
+ * subclass's {@code complete(...)} method, which sets the payload fields only
+ * when the event will actually be written. When the event type is disabled,
+ * {@code begin()} and {@code shouldCommit()} are constant-folded by the JIT and
+ * the allocation is eliminated, so instrumented code costs nothing measurable.
+ */
+abstract class StageEvent extends Event {
+}
@@ -0,0 +1,30 @@
+package com.expensetracker.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Parsing and verification of the bearer token in {@code JwtAuthenticationFilter},
+ * including the verified-token cache lookup and the revocation check.
+ */
+@Name("com.expensetracker.TokenParse")
+@Label("Token Parse")
+@Category({"Expense Tracker", "Auth"})
+@Description("Bearer token parsed and verified by the authentication filter")
+@StackTrace(false)
+public final class TokenParseEvent extends StageEvent {
+
+    @Label("Authenticated")
+    private boolean authenticated;
+
+    public void complete(boolean authenticated) {
+        end();
+        if (shouldCommit()) {
+            this.authenticated = authenticated;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.expensetracker.kafka;
+
+import com.expensetracker.auth.service.TokenRevocationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Applies revocations made on other nodes. Every node consumes with its own group
+ * id so that each one sees every event, and starts from the earliest offset; the
+ * topic only retains events for one access-token lifetime.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true")
+public class TokenRevocationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationListener.class);
+
+    private final TokenRevocationService tokenRevocationService;
+    private final ObjectMapper objectMapper;
+
+    public TokenRevocationListener(TokenRevocationService tokenRevocationService, ObjectMapper objectMapper) {
+        this.tokenRevocationService = tokenRevocationService;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "${kafka.topics.token-revocation:token-revocation}",
+            groupId = "${spring.application.name}-revocation-${random.uuid}")
+    public void onTokenRevoked(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            tokenRevocationService.applyRemoteRevocation(event.path("jti").asText(),
+                    Instant.ofEpochMilli(event.path("expiresAt").asLong()));
+        } catch (Exception e) {
+            log.error("Ignoring malformed TOKEN_REVOKED event", e);
+        }
+    }
+}
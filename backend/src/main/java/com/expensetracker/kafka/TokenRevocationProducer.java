@@ -0,0 +1,61 @@
+package com.expensetracker.kafka;
+
+import com.expensetracker.diagnostics.KafkaPublishEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Announces revoked access tokens so that every node adds them to its local
+ * revocation filter.
+ */
+@Component
+@SuppressWarnings("null")
+public class TokenRevocationProducer {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationProducer.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${kafka.topics.token-revocation:token-revocation}")
+    private String tokenRevocationTopic;
+
+    @Value("${kafka.enabled:false}")
+    private boolean kafkaEnabled;
+
+    public TokenRevocationProducer(KafkaTemplate<String, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    public void sendTokenRevokedEvent(String jti, Instant expiresAt) {
+        if (!kafkaEnabled) {
+            log.debug("Kafka disabled. Would have sent TOKEN_REVOKED event for jti: {}", jti);
+            return;
+        }
+
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", "TOKEN_REVOKED");
+            event.put("jti", jti);
+            event.put("expiresAt", expiresAt.toEpochMilli());
+
+            KafkaPublishEvent publishEvent = new KafkaPublishEvent();
+            publishEvent.begin();
+            kafkaTemplate.send(tokenRevocationTopic, jti, event)
+                    .whenComplete((result, ex) -> {
+                        publishEvent.complete(tokenRevocationTopic, "TOKEN_REVOKED", ex != null);
+                        if (ex != null) {
+                            log.error("Failed to send TOKEN_REVOKED event for jti: {}", jti, ex);
+                        }
+                    });
+        } catch (Exception e) {
+            log.error("Error sending TOKEN_REVOKED event for jti: {}", jti, e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.expensetracker.kafka;
+
+import com.expensetracker.auth.model.User;
+import com.expensetracker.auth.repository.UserCredentials;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link User} second-level cache and the credentials query cache
+ * coherent across nodes. Every node
+ * consumes with its own group id and starts at the latest offset: a node's cache
+ * is empty when it starts, so only changes made after that matter.
+ *
+ * <p>Updates evict the user's entry. Deletions also clear the email-to-id
+ * mappings, since a deleted address may be registered again under a new id.
+ * Query results are invalidated by table timestamps that only this node's
+ * writes advance, so every user change, including creation (a login attempt may
+ * have cached an empty result), clears the credentials region.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.enabled", havingValue = "true")
+public class UserLifecycleListener {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLifecycleListener.class);
+
+    private final Cache cache;
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+
+    public UserLifecycleListener(EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper) {
+        this.cache = entityManagerFactory.getCache();
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(topics = "${kafka.topics.user-lifecycle:user-lifecycle}",
+            groupId = "${spring.application.name}-user-cache-${random.uuid}",
+            properties = "auto.offset.reset=latest")
+    public void onUserLifecycleEvent(String payload) {
+        try {
+            JsonNode event = objectMapper.readTree(payload);
+            String eventType = event.path("eventType").asText();
+            long userId = event.path("userId").asLong();
+
+            if (UserLifecycleProducer.USER_CREATED.equals(eventType)) {
+                sessionFactory.getCache().evictQueryRegion(UserCredentials.CACHE_REGION);
+            } else if (UserLifecycleProducer.USER_UPDATED.equals(eventType)) {
+                cache.evict(User.class, userId);
+                sessionFactory.getCache().evictQueryRegion(UserCredentials.CACHE_REGION);
+            } else if (UserLifecycleProducer.USER_DELETED.equals(eventType)) {
+                cache.evict(User.class, userId);
+                sessionFactory.getCache().evictNaturalIdData(User.class);
+                sessionFactory.getCache().evictQueryRegion(UserCredentials.CACHE_REGION);
+            }
+        } catch (Exception e) {
+            log.error("Ignoring malformed user lifecycle event", e);
+        }
+    }
+}
@@ -1,14 +1,27 @@
 package com.expensetracker.kafka;
 
+import com.expensetracker.auth.model.User;
+import com.expensetracker.diagnostics.KafkaPublishEvent;
+import com.expensetracker.logging.LogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @SuppressWarnings("null")
@@ -16,7 +29,16 @@ public class UserLifecycleProducer {
 
     private static final Logger log = LoggerFactory.getLogger(UserLifecycleProducer.class);
 
+    static final String USER_CREATED = "USER_CREATED";
+    static final String USER_LOGIN = "USER_LOGIN";
+    static final String USER_UPDATED = "USER_UPDATED";
+    static final String USER_DELETED = "USER_DELETED";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Executor callbackExecutor;
+    private final Map<String, Timer> sendTimers = new HashMap<>();
+    private final Map<String, Counter> sendFailures = new HashMap<>();
+    private final LogSampler failureLogSampler = new LogSampler(10, Duration.ofMinutes(1));
 
     @Value("${kafka.topics.user-lifecycle:user-lifecycle}")
     private String userLifecycleTopic;
@@ -24,25 +46,92 @@ public class UserLifecycleProducer {
     @Value("${kafka.enabled:false}")
     private boolean kafkaEnabled;
 
-    public UserLifecycleProducer(KafkaTemplate<String, Object> kafkaTemplate) {
+    /**
+     * With virtual threads enabled, send callbacks run on the application task
+     * executor (one virtual thread per task) so that logging and any future
+     * callback work never holds up the producer's network thread. Otherwise they
+     * run inline on that thread, as before.
+     *
+     * <p>Send latency is measured from the call to {@code send} until the broker
+     * acknowledgement (or failure) arrives.
+     */
+    public UserLifecycleProducer(KafkaTemplate<String, Object> kafkaTemplate,
+            @Qualifier("applicationTaskExecutor") Executor applicationTaskExecutor,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsEnabled,
+            MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.callbackExecutor = virtualThreadsEnabled ? applicationTaskExecutor : Runnable::run;
+        for (String eventType : new String[] {USER_CREATED, USER_LOGIN, USER_UPDATED, USER_DELETED}) {
+            sendTimers.put(eventType, Timer.builder("kafka.producer.send")
+                    .description("Time from sending a user lifecycle event to the broker acknowledgement")
+                    .tag("event", eventType)
+                    .register(meterRegistry));
+            sendFailures.put(eventType, Counter.builder("kafka.producer.send.failures")
+                    .description("User lifecycle events that could not be sent")
+                    .tag("event", eventType)
+                    .register(meterRegistry));
+        }
     }
 
+    /**
+     * Publishes {@code USER_CREATED} once the surrounding transaction commits. The
+     * row, and with it the unique-email check, is only written at the commit, so
+     * a duplicate signup must not be announced before it.
+     */
     public void sendUserCreatedEvent(Long userId, String email) {
-        sendEvent("USER_CREATED", userId, email);
+        afterCommit(() -> sendEvent(USER_CREATED, userId, email));
+    }
+
+    /**
+     * Publishes {@code USER_CREATED} for a batch of users once the surrounding
+     * transaction commits, so a rolled-back batch announces nothing. The producer
+     * groups the records into broker requests by partition.
+     */
+    public void sendUserCreatedEvents(List<User> users) {
+        if (!kafkaEnabled) {
+            log.debug("Kafka disabled. Would have sent {} {} events", users.size(), USER_CREATED);
+            return;
+        }
+        afterCommit(() -> {
+            for (User user : users) {
+                sendEvent(USER_CREATED, user.getId(), user.getEmail());
+            }
+        });
     }
 
     public void sendUserLoginEvent(Long userId, String email) {
-        sendEvent("USER_LOGIN", userId, email);
+        sendEvent(USER_LOGIN, userId, email);
+    }
+
+    /**
+     * Announces a change to the user's row, so that other nodes evict it from their
+     * second-level cache. Inside a transaction the event is sent after the commit;
+     * sent earlier, another node could reload and cache the old row.
+     */
+    public void sendUserUpdatedEvent(Long userId, String email) {
+        afterCommit(() -> sendEvent(USER_UPDATED, userId, email));
     }
 
     public void sendUserDeletedEvent(Long userId, String email) {
-        sendEvent("USER_DELETED", userId, email);
+        sendEvent(USER_DELETED, userId, email);
+    }
+
+    private void afterCommit(Runnable send) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send.run();
+                }
+            });
+        } else {
+            send.run();
+        }
     }
 
     private void sendEvent(String eventType, Long userId, String email) {
         if (!kafkaEnabled) {
-            log.info("Kafka disabled. Would have sent {} event for user: {}", eventType, email);
+            log.debug("Kafka disabled. Would have sent {} event for user ID: {}", eventType, userId);
             return;
         }
 
@@ -53,17 +142,35 @@ public class UserLifecycleProducer {
             event.put("email", email);
             event.put("timestamp", Instant.now().toString());
 
+            Timer sendTimer = sendTimers.get(eventType);
+            long start = System.nanoTime();
+            KafkaPublishEvent publishEvent = new KafkaPublishEvent();
+            publishEvent.begin();
             kafkaTemplate.send(userLifecycleTopic, String.valueOf(userId), event)
-                    .whenComplete((result, ex) -> {
+                    .whenCompleteAsync((result, ex) -> {
+                        sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        publishEvent.complete(userLifecycleTopic, eventType, ex != null);
                         if (ex != null) {
-                            log.error("Failed to send {} event for user: {}", eventType, email, ex);
-                        } else {
-                            log.info("Sent {} event for user: {} to topic: {}",
-                                    eventType, email, userLifecycleTopic);
+                            onSendFailure(eventType, userId, ex);
+                        } else if (log.isDebugEnabled()) {
+                            log.debug("Sent {} event for user ID: {} to topic: {}",
+                                    eventType, userId, userLifecycleTopic);
                         }
-                    });
+                    }, callbackExecutor);
         } catch (Exception e) {
-            log.error("Error sending {} event for user: {}", eventType, email, e);
+            onSendFailure(eventType, userId, e);
+        }
+    }
+
+    /**
+     * Failures are counted individually but logged through a sampler, so a broker
+     * outage produces a few stack traces per minute rather than one per login.
+     */
+    private void onSendFailure(String eventType, Long userId, Throwable cause) {
+        sendFailures.get(eventType).increment();
+        if (failureLogSampler.shouldLog()) {
+            log.error("Failed to send {} event for user ID: {} ({} similar suppressed)",
+                    eventType, userId, failureLogSampler.takeSuppressedCount(), cause);
         }
     }
 }
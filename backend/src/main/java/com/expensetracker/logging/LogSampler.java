@@ -0,0 +1,53 @@
+package com.expensetracker.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets through at most a fixed number of log events per interval and counts the
+ * rest, so a flood of identical failures costs a couple of atomic operations
+ * each instead of a formatted log line.
+ *
+ * <pre>{@code
+ * if (sampler.shouldLog()) {
+ *     log.warn("Rejected token ({} similar suppressed)", sampler.takeSuppressedCount());
+ * }
+ * }</pre>
+ */
+public final class LogSampler {
+
+    private final long permitsPerInterval;
+    private final long intervalNanos;
+    private final AtomicLong intervalStart;
+    private final AtomicLong eventsInInterval = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogSampler(long permitsPerInterval, Duration interval) {
+        this.permitsPerInterval = permitsPerInterval;
+        this.intervalNanos = interval.toNanos();
+        this.intervalStart = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Records one event and returns whether it should be logged.
+     */
+    public boolean shouldLog() {
+        long now = System.nanoTime();
+        long start = intervalStart.get();
+        if (now - start >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            eventsInInterval.set(0);
+        }
+        if (eventsInInterval.incrementAndGet() <= permitsPerInterval) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Returns the number of events suppressed since the last call and resets it.
+     */
+    public long takeSuppressedCount() {
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,88 @@
+package com.expensetracker.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Logback turbo filter that rate-limits log events per logger with a
+ * {@link LogSampler}. Each logger under one of the configured prefixes gets its
+ * own budget of {@code permits} events per {@code interval}; events beyond it are
+ * denied before a logging event is even created. Events above {@code maxLevel}
+ * (by default, errors) always pass.
+ *
+ * <pre>{@code
+ * <turboFilter class="com.expensetracker.logging.SamplingTurboFilter">
+ *     <loggers>com.expensetracker, org.hibernate</loggers>
+ *     <permits>50</permits>
+ *     <interval>PT1S</interval>
+ * </turboFilter>
+ * }</pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private final ConcurrentMap<String, LogSampler> samplers = new ConcurrentHashMap<>();
+    private long permits = 100;
+    private Duration interval = Duration.ofSeconds(1);
+    private Level maxLevel = Level.WARN;
+
+    public void setLoggers(String loggers) {
+        loggerPrefixes.clear();
+        for (String prefix : loggers.split(",")) {
+            if (!prefix.isBlank()) {
+                loggerPrefixes.add(prefix.trim());
+            }
+        }
+    }
+
+    public void setPermits(long permits) {
+        this.permits = permits;
+    }
+
+    public void setInterval(String interval) {
+        this.interval = Duration.parse(interval);
+    }
+
+    public void setMaxLevel(String maxLevel) {
+        this.maxLevel = Level.toLevel(maxLevel, Level.WARN);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // A null format is an isXxxEnabled() check, not an event; it must not use up a permit
+        if (!isStarted() || format == null || level.toInt() > maxLevel.toInt()) {
+            return FilterReply.NEUTRAL;
+        }
+        // Disabled levels are rejected by the logger itself; only sample events that would be written
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String name = logger.getName();
+        if (!matches(name)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        LogSampler sampler = samplers.computeIfAbsent(name, key -> new LogSampler(permits, interval));
+        return sampler.shouldLog() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean matches(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)
+                    && (loggerName.length() == prefix.length() || loggerName.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,252 @@
+package com.expensetracker.warmup;
+
+import com.expensetracker.auth.dto.AuthResponse;
+import com.expensetracker.auth.repository.RefreshTokenRepository;
+import com.expensetracker.auth.repository.RevokedAccessTokenRepository;
+import com.expensetracker.auth.repository.UserRepository;
+import com.expensetracker.auth.service.AccessTokenVerifier;
+import com.expensetracker.auth.service.JwtService;
+import com.expensetracker.auth.service.PasswordHashingService;
+import com.expensetracker.auth.service.VerifiedTokenCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms the auth hot path with synthetic data before the instance reports ready.
+ *
+ * <p>Runs synchronously in the {@link ApplicationReadyEvent} listener, so Spring
+ * Boot only moves the readiness state to {@code ACCEPTING_TRAFFIC} afterwards, and
+ * {@code /api/auth/health} answers 503 until it has finished. It runs BCrypt on
+ * every hashing thread, opens every connection of every pool (primary and, if
+ * configured, read replica) and mints a few synthetic tokens. Each pass then
+ * verifies those tokens and runs the read queries of the login, refresh and
+ * revocation paths. Passes repeat until the token-and-lookup round trip is within
+ * the latency target, or until the time budget runs out. Nothing is written to the
+ * database.
+ *
+ * <p>Only the few synthetic tokens reach the {@code jwt.mint} and
+ * {@code jwt.verify} timers and the verified-token cache, and their cache entries
+ * are dropped once warm-up ends, so the metrics and the cache describe real
+ * traffic.
+ */
+@Component
+public class WarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+
+    private static final Long SYNTHETIC_USER_ID = -1L;
+    private static final String SYNTHETIC_EMAIL = "warmup@warmup.invalid";
+    private static final String SYNTHETIC_PASSWORD = "warmup-password";
+    private static final String SYNTHETIC_TOKEN_HASH = "0".repeat(64);
+    private static final int SYNTHETIC_TOKENS = 4;
+
+    public enum Status { PENDING, WARMING, READY }
+
+    private final JwtService jwtService;
+    private final AccessTokenVerifier accessTokenVerifier;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PasswordHashingService passwordHashingService;
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final DataSource dataSource;
+    private final ObjectProvider<HikariDataSource> pools;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration targetLatency;
+    private final Duration maxDuration;
+
+    private volatile Status status = Status.PENDING;
+
+    public WarmupService(JwtService jwtService, AccessTokenVerifier accessTokenVerifier,
+            VerifiedTokenCache verifiedTokenCache, PasswordHashingService passwordHashingService, UserRepository userRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            RevokedAccessTokenRepository revokedAccessTokenRepository, DataSource dataSource,
+            ObjectProvider<HikariDataSource> pools, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.iterations:200}") int iterations,
+            @Value("${warmup.target-latency:2ms}") Duration targetLatency,
+            @Value("${warmup.max-duration:30s}") Duration maxDuration) {
+        this.jwtService = jwtService;
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.passwordHashingService = passwordHashingService;
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.dataSource = dataSource;
+        this.pools = pools;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.targetLatency = targetLatency;
+        this.maxDuration = maxDuration;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isReady() {
+        return status == Status.READY;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            status = Status.READY;
+            return;
+        }
+
+        status = Status.WARMING;
+        long start = System.nanoTime();
+        long deadline = start + maxDuration.toNanos();
+        List<String> tokens = new ArrayList<>(SYNTHETIC_TOKENS);
+
+        try {
+            openPoolConnections();
+            warmPasswordHashing();
+            mintSyntheticTokens(tokens);
+
+            int passes = 0;
+            Duration perIteration;
+            do {
+                perIteration = runPass(tokens);
+                passes++;
+            } while (perIteration.compareTo(targetLatency) > 0 && System.nanoTime() < deadline);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            if (perIteration.compareTo(targetLatency) > 0) {
+                log.warn("Warm-up stopped after {} ms and {} passes at {} us per iteration (target {} us)",
+                        elapsed.toMillis(), passes, perIteration.toNanos() / 1000, targetLatency.toNanos() / 1000);
+            } else {
+                log.info("Warm-up finished in {} ms after {} passes at {} us per iteration",
+                        elapsed.toMillis(), passes, perIteration.toNanos() / 1000);
+            }
+        } catch (RuntimeException e) {
+            // A failed warm-up only costs latency; never keep the instance out of rotation for it
+            log.warn("Warm-up failed, serving traffic cold", e);
+        } finally {
+            tokens.forEach(verifiedTokenCache::invalidate);
+            status = Status.READY;
+        }
+    }
+
+    /**
+     * Mints the synthetic access tokens the passes verify, and one refresh token.
+     * Each token's first verification is a full one; later ones hit the cache.
+     */
+    private void mintSyntheticTokens(List<String> tokens) {
+        for (int i = 0; i < SYNTHETIC_TOKENS; i++) {
+            tokens.add(jwtService.generateAccessToken(SYNTHETIC_USER_ID, SYNTHETIC_EMAIL));
+        }
+        jwtService.generateRefreshToken(SYNTHETIC_USER_ID, SYNTHETIC_EMAIL);
+    }
+
+    /**
+     * One pass of the token and lookup path; returns the mean time per iteration.
+     */
+    private Duration runPass(List<String> tokens) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            accessTokenVerifier.verify(tokens.get(i % tokens.size()));
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                userRepository.findCredentialsByEmail(SYNTHETIC_EMAIL);
+                refreshTokenRepository.findSessionByTokenHash(SYNTHETIC_TOKEN_HASH);
+                revokedAccessTokenRepository.existsById(SYNTHETIC_TOKEN_HASH);
+            });
+        }
+        serializeSampleResponse();
+        return Duration.ofNanos((System.nanoTime() - start) / iterations);
+    }
+
+    /**
+     * Borrows every connection each pool may hold at once, so none is opened on
+     * a user request. The pools are warmed directly, not through the routing data
+     * source, which would only ever hand out primary connections here.
+     */
+    private void openPoolConnections() {
+        List<HikariDataSource> hikariPools = pools.orderedStream().toList();
+        if (hikariPools.isEmpty()) {
+            openConnections(dataSource, 1);
+        }
+        for (HikariDataSource pool : hikariPools) {
+            openConnections(pool, pool.getMaximumPoolSize());
+        }
+    }
+
+    private void openConnections(DataSource pool, int poolSize) {
+        List<Connection> connections = new ArrayList<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Connection connection = pool.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+        } catch (SQLException e) {
+            log.warn("Opened only {} of {} pool connections during warm-up", connections.size(), poolSize, e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.debug("Failed to return warm-up connection", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hashes once, then matches once on each hashing thread in parallel.
+     */
+    private void warmPasswordHashing() {
+        String hash = passwordHashingService.encode(SYNTHETIC_PASSWORD).join();
+        int threads = passwordHashingService.getPoolSize();
+        List<CompletableFuture<Boolean>> matches = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            matches.add(passwordHashingService.matches(SYNTHETIC_PASSWORD, hash));
+        }
+        matches.forEach(CompletableFuture::join);
+    }
+
+    private void serializeSampleResponse() {
+        try {
+            objectMapper.writeValueAsBytes(AuthResponse.builder()
+                    .accessToken("warmup")
+                    .refreshToken("warmup")
+                    .tokenType("Bearer")
+                    .expiresIn(0L)
+                    .user(AuthResponse.UserInfo.builder()
+                            .id(SYNTHETIC_USER_ID)
+                            .name("Warmup")
+                            .email(SYNTHETIC_EMAIL)
+                            .build())
+                    .build());
+        } catch (Exception e) {
+            log.debug("Failed to serialise warm-up response", e);
+        }
+    }
+}
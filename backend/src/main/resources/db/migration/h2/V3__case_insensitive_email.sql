@@ -0,0 +1,8 @@
+-- Email addresses are unique regardless of case. H2 has no expression indexes, so
+-- the lower-cased address is kept in a generated column and indexed there.
+
+ALTER TABLE users ADD COLUMN email_lower VARCHAR(255) GENERATED ALWAYS AS (LOWER(email));
+
+CREATE UNIQUE INDEX ux_users_email_lower ON users (email_lower);
+
+ALTER TABLE users DROP CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7;
@@ -0,0 +1,10 @@
+-- Email addresses are stored lower-cased, so the natural id (email) is looked up by
+-- exact value through a plain unique index. V3 guarantees the update cannot collide.
+
+UPDATE users SET email = LOWER(email) WHERE email <> LOWER(email);
+
+DROP INDEX ux_users_email_lower;
+ALTER TABLE users DROP COLUMN email_lower;
+
+ALTER TABLE users ADD CONSTRAINT ck_users_email_lower CHECK (email = LOWER(email));
+ALTER TABLE users ADD CONSTRAINT ux_users_email UNIQUE (email);
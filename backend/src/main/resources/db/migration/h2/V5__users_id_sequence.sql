@@ -0,0 +1,8 @@
+-- User ids come from a pooled sequence instead of an identity column, so Hibernate
+-- can batch user inserts. Each call reserves 50 ids (allocationSize on User.id);
+-- the first block starts right after the highest existing id.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE users_seq START WITH 50 INCREMENT BY 50;
+ALTER SEQUENCE users_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM users);
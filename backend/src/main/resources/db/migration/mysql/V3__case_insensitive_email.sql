@@ -0,0 +1,7 @@
+-- Email addresses are unique regardless of case, and lookups by lower(email) use
+-- this functional index (MySQL 8.0.13+). Fails if the table already holds
+-- addresses differing only in case.
+
+CREATE UNIQUE INDEX ux_users_email_lower ON users ((LOWER(email)));
+
+ALTER TABLE users DROP INDEX UK_6dotkott2kjsp8vw4d0m25fb7;
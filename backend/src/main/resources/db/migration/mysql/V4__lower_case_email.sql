@@ -0,0 +1,11 @@
+-- Email addresses are stored lower-cased, so the natural id (email) is looked up by
+-- exact value through a plain unique index. V3 guarantees the update cannot collide.
+-- Comparisons are made in binary, since the default collation ignores case.
+
+UPDATE users SET email = LOWER(email) WHERE CAST(email AS BINARY) <> CAST(LOWER(email) AS BINARY);
+
+ALTER TABLE users ADD CONSTRAINT ck_users_email_lower
+    CHECK (CAST(email AS BINARY) = CAST(LOWER(email) AS BINARY));
+ALTER TABLE users ADD CONSTRAINT ux_users_email UNIQUE (email);
+
+DROP INDEX ux_users_email_lower ON users;
@@ -0,0 +1,15 @@
+-- User ids come from a pooled generator instead of AUTO_INCREMENT, so Hibernate
+-- can batch user inserts. MySQL has no sequences, so Hibernate keeps the next
+-- value in a one-row table and reserves 50 ids per update (allocationSize on
+-- User.id); the first block starts right after the highest existing id.
+
+-- Changing a column referenced by a foreign key is otherwise rejected
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE users MODIFY id BIGINT NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
+
+CREATE TABLE users_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO users_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM users;
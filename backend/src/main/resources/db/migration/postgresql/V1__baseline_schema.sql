@@ -0,0 +1,15 @@
+-- Schema as created by hibernate.ddl-auto=update before Flyway was introduced,
+-- including its generated constraint names. Databases created that way are
+-- baselined at this version; everything added since is in later migrations.
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    created_at    TIMESTAMP(6) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    last_login_at TIMESTAMP(6),
+    name          VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    refresh_token VARCHAR(512),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
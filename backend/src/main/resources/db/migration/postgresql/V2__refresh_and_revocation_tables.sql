@@ -0,0 +1,27 @@
+-- Refresh sessions move from users.refresh_token into their own table keyed by
+-- the token hash, and revoked access tokens get a table. A database that ran a
+-- later ddl-auto=update build before Flyway may already have the tables, hence
+-- IF NOT EXISTS. Tokens stored in the old column are dropped; those users sign
+-- in again.
+
+ALTER TABLE users DROP COLUMN refresh_token;
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    token_hash VARCHAR(64)  NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    PRIMARY KEY (token_hash),
+    CONSTRAINT fk1lih5y2npsf8u5o3vhdb9y0os FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+    jti        VARCHAR(64)  NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (jti)
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_access_tokens_expires_at ON revoked_access_tokens (expires_at);
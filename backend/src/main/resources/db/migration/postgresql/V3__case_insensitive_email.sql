@@ -0,0 +1,6 @@
+-- Email addresses are unique regardless of case, and lookups by lower(email) use
+-- this index. Fails if the table already holds addresses differing only in case.
+
+CREATE UNIQUE INDEX ux_users_email_lower ON users (lower(email));
+
+ALTER TABLE users DROP CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7;
@@ -0,0 +1,8 @@
+-- User ids come from a pooled sequence instead of an identity column, so Hibernate
+-- can batch user inserts. Each call reserves 50 ids (allocationSize on User.id);
+-- the first block starts right after the highest existing id.
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE users_seq INCREMENT BY 50;
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
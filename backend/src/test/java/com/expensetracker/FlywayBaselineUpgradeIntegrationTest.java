@@ -0,0 +1,74 @@
+package com.expensetracker;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database left behind by the original release
+ * ({@code ddl-auto=update}, no Flyway history): it must be baselined at V1,
+ * migrated to the current schema and pass Hibernate's validation.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class FlywayBaselineUpgradeIntegrationTest {
+
+    private static final String URL = "jdbc:h2:mem:baseline-upgrade;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void baselineDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE users ("
+                    + "id BIGINT GENERATED BY DEFAULT AS IDENTITY, "
+                    + "created_at TIMESTAMP(6) NOT NULL, "
+                    + "email VARCHAR(255) NOT NULL, "
+                    + "last_login_at TIMESTAMP(6), "
+                    + "name VARCHAR(255) NOT NULL, "
+                    + "password_hash VARCHAR(255) NOT NULL, "
+                    + "refresh_token VARCHAR(512), "
+                    + "PRIMARY KEY (id), "
+                    + "CONSTRAINT UK_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email))");
+            statement.execute("INSERT INTO users (created_at, email, name, password_hash, refresh_token) "
+                    + "VALUES (CURRENT_TIMESTAMP, 'Legacy@Example.com', 'Legacy', 'x', 'old-token')");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void baselineDatabaseIsMigratedToCurrentSchema() {
+        assertThat(jdbcTemplate.queryForList("SELECT \"version\" FROM \"flyway_schema_history\" "
+                + "WHERE \"version\" IS NOT NULL ORDER BY \"installed_rank\"", String.class))
+                .containsExactly("1", "2", "3", "4", "5");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class))
+                .isEqualTo("BASELINE");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT email FROM users", String.class))
+                .isEqualTo("legacy@example.com");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS "
+                + "WHERE TABLE_NAME = 'USERS' AND COLUMN_NAME = 'REFRESH_TOKEN'", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_tokens", Integer.class)).isZero();
+    }
+
+    @Test
+    void newUsersGetIdsAfterTheExistingOnes() {
+        Long existing = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class);
+        assertThat(next - 49).isGreaterThan(existing);
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensetracker.auth;
+
+import com.expensetracker.auth.dto.AuthResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Logging out with tokens the authentication filter does not accept: a revoked
+ * access token changes nothing, a refresh token still ends the sessions.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LogoutIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:logout;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void repeatedLogoutWithSameAccessTokenSucceeds() {
+        ResponseEntity<AuthResponse> signup = restTemplate.postForEntity("/api/auth/signup",
+                Map.of("email", "twice@example.com", "password", "secret123", "name", "Twice"),
+                AuthResponse.class);
+        assertThat(signup.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(signup.getBody().getAccessToken());
+        HttpEntity<Void> logout = new HttpEntity<>(headers);
+
+        int revokedBefore = revokedCount();
+        ResponseEntity<String> first = restTemplate.postForEntity("/api/auth/logout", logout, String.class);
+        ResponseEntity<String> second = restTemplate.postForEntity("/api/auth/logout", logout, String.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getBody()).doesNotContainIgnoringCase("revoked_access_tokens");
+        assertThat(revokedCount()).isEqualTo(revokedBefore + 1);
+    }
+
+    @Test
+    void revokedAccessTokenCannotEndNewSessions() {
+        Map<String, String> account = Map.of("email", "leaked@example.com", "password", "secret123", "name", "Leaked");
+        ResponseEntity<AuthResponse> signup = restTemplate.postForEntity("/api/auth/signup", account,
+                AuthResponse.class);
+        HttpHeaders leaked = new HttpHeaders();
+        leaked.setBearerAuth(signup.getBody().getAccessToken());
+        assertThat(restTemplate.postForEntity("/api/auth/logout", new HttpEntity<>(leaked), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        AuthResponse login = restTemplate.postForEntity("/api/auth/login",
+                Map.of("email", "leaked@example.com", "password", "secret123"), AuthResponse.class).getBody();
+        restTemplate.postForEntity("/api/auth/logout", new HttpEntity<>(leaked), String.class);
+
+        ResponseEntity<String> refresh = restTemplate.postForEntity("/api/auth/refresh",
+                Map.of("refreshToken", login.getRefreshToken()), String.class);
+        assertThat(refresh.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void refreshTokenCanLogOut() {
+        AuthResponse signup = restTemplate.postForEntity("/api/auth/signup",
+                Map.of("email", "expired@example.com", "password", "secret123", "name", "Expired"),
+                AuthResponse.class).getBody();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(signup.getRefreshToken());
+
+        assertThat(restTemplate.postForEntity("/api/auth/logout", new HttpEntity<>(headers), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.postForEntity("/api/auth/refresh",
+                Map.of("refreshToken", signup.getRefreshToken()), String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private int revokedCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revoked_access_tokens", Integer.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.expensetracker.auth;
+
+import com.expensetracker.auth.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * A signup that registers one of the uploaded addresses after the batch has
+ * checked which addresses exist, but before it is flushed: the batch is retried
+ * and that address is skipped.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "auth.provisioning.key=test-provisioning-key"
+})
+@ActiveProfiles("test")
+class UserProvisioningIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:provisioning;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void concurrentSignupIsSkippedOnRetry() {
+        AtomicBoolean raced = new AtomicBoolean();
+        // Repository proxies cannot call through from a spy; the same query in SQL
+        doAnswer(invocation -> {
+            Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT email FROM users WHERE email IN (:emails)",
+                    Map.of("emails", invocation.getArgument(0)), String.class));
+            if (raced.compareAndSet(false, true)) {
+                // Commits on its own connection while the batch is still unflushed
+                CompletableFuture.supplyAsync(() -> restTemplate.postForEntity("/api/auth/signup",
+                        Map.of("email", "racer@example.com", "password", "secret123", "name", "Racer"),
+                        String.class)).join();
+            }
+            return existing;
+        }).when(userRepository).findExistingEmails(anyCollection());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/x-ndjson"));
+        headers.set("X-Provisioning-Key", "test-provisioning-key");
+        String upload = """
+                {"email":"first@example.com","name":"First"}
+                {"email":"racer@example.com","name":"Racer"}
+                {"email":"last@example.com","name":"Last"}
+                """;
+
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange("/api/provisioning/users",
+                HttpMethod.POST, new HttpEntity<>(upload, headers), new ParameterizedTypeReference<>() {
+                });
+
+        assertThat(raced).isTrue();
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsEntry("created", 2).containsEntry("skipped", 1);
+    }
+}
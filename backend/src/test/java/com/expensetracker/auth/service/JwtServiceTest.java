@@ -0,0 +1,57 @@
+package com.expensetracker.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tokens written by {@link JwtTokenMinter} must parse and verify through Nimbus
+ * with every claim intact, whatever the email has to escape.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long";
+
+    // A cache would let the second verification skip Nimbus
+    private final JwtService jwtService = new JwtService(SECRET, 900_000, 604_800_000,
+            new VerifiedTokenCache(0), new SimpleMeterRegistry());
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "plain@example.com",
+            "\"quoted\"@example.com",
+            "back\\slash@example.com",
+            "\\\"\\\\\"@example.com",
+            "new\nline\r\ttab@example.com",
+            "\u0000nul\u0001\u001f\u007f@example.com",
+            "ünïcödé 😀@example.com",
+            "</script>{\"email\":\"x\"}@example.com"
+    })
+    void mintedTokenRoundTripsThroughNimbus(String email) {
+        String access = jwtService.generateAccessToken(42L, email);
+        String refresh = jwtService.generateRefreshToken(42L, email);
+
+        TokenClaims accessClaims = jwtService.verifyToken(access).orElseThrow();
+        assertThat(accessClaims.userId()).isEqualTo(42L);
+        assertThat(accessClaims.email()).isEqualTo(email);
+        assertThat(accessClaims.isAccessToken()).isTrue();
+        assertThat(accessClaims.jti()).matches("[0-9a-f]{8}-[0-9a-f]{4}-4[0-9a-f]{3}-[89ab][0-9a-f]{3}-[0-9a-f]{12}");
+
+        TokenClaims refreshClaims = jwtService.verifyToken(refresh).orElseThrow();
+        assertThat(refreshClaims.email()).isEqualTo(email);
+        assertThat(refreshClaims.isRefreshToken()).isTrue();
+        assertThat(refreshClaims.jti()).isNotEqualTo(accessClaims.jti());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"plain@example.com", "\"quoted\"@example.com"})
+    void tamperedTokenIsRejected(String email) {
+        String token = jwtService.generateAccessToken(42L, email);
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + (parts[2].charAt(0) == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+        assertThat(jwtService.verifyToken(forged)).isEmpty();
+    }
+}
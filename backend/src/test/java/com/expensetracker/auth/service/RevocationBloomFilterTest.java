@@ -0,0 +1,74 @@
+package com.expensetracker.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The filter may answer yes for a token that was never added, but never no for
+ * one that was, also while other threads are adding.
+ */
+class RevocationBloomFilterTest {
+
+    @Test
+    void addedKeysAreAlwaysFound() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.001);
+        List<String> keys = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        keys.forEach(filter::add);
+
+        assertThat(keys).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int probes = 100_000;
+        long falsePositives = IntStream.range(0, probes)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        // 1% expected; twice that would mean the hashes are correlated
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(0, 0.001);
+
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain(UUID.randomUUID().toString())).isFalse();
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() {
+        // Small filter, so threads keep setting bits in the same words
+        RevocationBloomFilter filter = new RevocationBloomFilter(1_000, 0.01);
+        List<CompletableFuture<List<String>>> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(CompletableFuture.supplyAsync(() -> {
+                List<String> keys = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                    String key = UUID.randomUUID().toString();
+                    filter.add(key);
+                    keys.add(key);
+                }
+                return keys;
+            }));
+        }
+
+        for (CompletableFuture<List<String>> writer : writers) {
+            assertThat(writer.join()).allMatch(filter::mightContain);
+        }
+    }
+}
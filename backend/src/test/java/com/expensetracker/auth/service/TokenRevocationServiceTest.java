@@ -0,0 +1,98 @@
+package com.expensetracker.auth.service;
+
+import com.expensetracker.auth.model.RevokedAccessToken;
+import com.expensetracker.auth.repository.RevokedAccessTokenRepository;
+import com.expensetracker.kafka.TokenRevocationProducer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Revocation against a mocked store and producer: a token is recorded and
+ * announced once, and whole windows are dropped once their tokens have expired.
+ */
+class TokenRevocationServiceTest {
+
+    private static final long WINDOW_MILLIS = 200;
+
+    private final RevokedAccessTokenRepository repository = mock(RevokedAccessTokenRepository.class);
+    private final TokenRevocationProducer producer = mock(TokenRevocationProducer.class);
+    private final TokenRevocationService service =
+            new TokenRevocationService(repository, producer, WINDOW_MILLIS, 1_000, 0.001);
+
+    @Test
+    void revokeIsIdempotent() {
+        TokenClaims claims = accessToken(Instant.now().plusSeconds(60));
+
+        service.revoke(claims);
+        when(repository.existsById(claims.jti())).thenReturn(true);
+        service.revoke(claims);
+
+        verify(repository, times(1)).save(any(RevokedAccessToken.class));
+        verify(producer, times(1)).sendTokenRevokedEvent(claims.jti(), claims.expiresAt());
+        assertThat(service.isRevoked(claims)).isTrue();
+    }
+
+    @Test
+    void expiredOrAnonymousTokensAreNotRecorded() {
+        service.revoke(accessToken(Instant.now().minusSeconds(1)));
+        service.revoke(new TokenClaims(1L, "user@example.com", TokenClaims.TYPE_ACCESS, null,
+                Instant.now().plusSeconds(60)));
+
+        verify(repository, never()).save(any(RevokedAccessToken.class));
+        verify(producer, never()).sendTokenRevokedEvent(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void unrevokedTokenIsAnsweredWithoutTheDatabase() {
+        service.revoke(accessToken(Instant.now().plusSeconds(60)));
+
+        assertThat(service.isRevoked(accessToken(Instant.now().plusSeconds(60)))).isFalse();
+        verify(repository, never()).existsById(anyString());
+    }
+
+    @Test
+    void purgeDropsWindowsThatCanOnlyHoldExpiredTokens() throws InterruptedException {
+        TokenClaims expiring = accessToken(Instant.now().plusMillis(WINDOW_MILLIS / 2));
+        TokenClaims lasting = accessToken(Instant.now().plusMillis(50 * WINDOW_MILLIS));
+        service.applyRemoteRevocation(expiring.jti(), expiring.expiresAt());
+        service.applyRemoteRevocation(lasting.jti(), lasting.expiresAt());
+        when(repository.existsById(anyString())).thenReturn(true);
+        assertThat(service.isRevoked(expiring)).isTrue();
+
+        // Wait until the expiring token's window is behind the current one
+        while (Instant.now().toEpochMilli() / WINDOW_MILLIS <= expiring.expiresAt().toEpochMilli() / WINDOW_MILLIS) {
+            Thread.sleep(10);
+        }
+        service.purgeExpired();
+
+        assertThat(service.isRevoked(expiring)).isFalse();
+        assertThat(service.isRevoked(lasting)).isTrue();
+        verify(repository, times(1)).existsById(expiring.jti());
+        verify(repository).deleteExpired(any());
+    }
+
+    @Test
+    void expiredRemoteRevocationIsIgnored() {
+        TokenClaims claims = accessToken(Instant.now().minusSeconds(1));
+        service.applyRemoteRevocation(claims.jti(), claims.expiresAt());
+        when(repository.existsById(anyString())).thenReturn(true);
+
+        assertThat(service.isRevoked(claims)).isFalse();
+    }
+
+    private static TokenClaims accessToken(Instant expiresAt) {
+        return new TokenClaims(1L, "user@example.com", TokenClaims.TYPE_ACCESS, UUID.randomUUID().toString(),
+                expiresAt);
+    }
+}
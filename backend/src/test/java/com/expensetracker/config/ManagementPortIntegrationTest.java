@@ -0,0 +1,74 @@
+package com.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Actuator endpoints are served on the management port only; on the
+ * application port no header makes them reachable.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "diagnostics.flight-recorder.enabled=true",
+        "diagnostics.flight-recorder.max-size=10MB"
+})
+@ActiveProfiles("test")
+@AutoConfigureObservability(tracing = false)
+class ManagementPortIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:management-port;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void flightRecordingOnlyOnManagementPort() {
+        ResponseEntity<byte[]> recording = restTemplate.getForEntity(
+                managementUrl("/actuator/flightrecording"), byte[].class);
+        assertThat(recording.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(recording.getBody()).isNotEmpty();
+
+        HttpHeaders forwarded = new HttpHeaders();
+        forwarded.set("X-Forwarded-For", "127.0.0.1");
+        ResponseEntity<String> viaApplicationPort = restTemplate.exchange("/actuator/flightrecording",
+                HttpMethod.GET, new HttpEntity<>(forwarded), String.class);
+        assertThat(viaApplicationPort.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void prometheusOnlyOnManagementPort() {
+        assertThat(restTemplate.getForEntity(managementUrl("/actuator/prometheus"), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.getForEntity("/actuator/prometheus", String.class).getStatusCode())
+                .isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void healthProbesOnManagementPort() {
+        assertThat(restTemplate.getForEntity(managementUrl("/actuator/health/liveness"), String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private String managementUrl(String path) {
+        return "http://localhost:" + managementPort + path;
+    }
+}
@@ -0,0 +1,98 @@
+package com.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spellings of a limited path that are dispatched to the same endpoint must
+ * share its buckets, and the replayed body must still reach the controller.
+ * Bodies whose email cannot be metered must not get through at all.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "auth.rate-limit.endpoints.login.per-email.capacity=3",
+        "auth.rate-limit.endpoints.login.per-email.refill-per-minute=1"
+})
+@ActiveProfiles("test")
+class RateLimitFilterIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:rate-limit;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void encodedPathSharesLoginLimit() {
+        Map<String, String> attempt = Map.of("email", "target@example.com", "password", "wrong-password");
+
+        assertThat(login("/api/auth/login", attempt).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login("/api/auth/%6Cogin", attempt).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(login("/api/auth/%6cogin", attempt).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        ResponseEntity<String> throttled = login("/api/auth/%6Cogin", attempt);
+        assertThat(throttled.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(throttled.getHeaders().getFirst("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void duplicateEmailKeyIsRefused() {
+        // Jackson would bind the second address while the first one was charged
+        for (int i = 0; i < 4; i++) {
+            ResponseEntity<String> response = loginWithBody("{\"email\":\"decoy-" + i + "@example.com\","
+                    + "\"email\":\"victim@example.com\",\"password\":\"guess-" + i + "\"}");
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            assertThat(response.getBody()).contains("one email field");
+        }
+    }
+
+    @Test
+    void oversizedBodyIsRefused() {
+        String padding = "x".repeat(9 * 1024);
+        ResponseEntity<String> response = loginWithBody("{\"email\":\"padded@example.com\","
+                + "\"password\":\"guess\",\"padding\":\"" + padding + "\"}");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @Test
+    void bodyWithoutStringEmailIsRefused() {
+        assertThat(loginWithBody("{\"password\":\"guess\"}").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(loginWithBody("{\"email\":12345,\"password\":\"guess\"}").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(loginWithBody("{\"email\":\"cut@example.com\",\"password\":").getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private ResponseEntity<String> loginWithBody(String json) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity("/api/auth/login", new HttpEntity<>(json, headers), String.class);
+    }
+
+    private ResponseEntity<String> login(String rawPath, Map<String, String> body) {
+        // A URI is sent as is; a String path would have its '%' escaped again
+        return restTemplate.postForEntity(URI.create("http://localhost:" + port + rawPath), body, String.class);
+    }
+}
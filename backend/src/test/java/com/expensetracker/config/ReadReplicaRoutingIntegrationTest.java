@@ -0,0 +1,78 @@
+package com.expensetracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a replica that has the schema but none of the primary's rows,
+ * i.e. one that lags behind indefinitely. Read-only lookups must go to it, and
+ * logins must still find accounts that only the primary has.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void databases(DynamicPropertyRegistry registry) {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        registry.add("spring.datasource.url", () -> PRIMARY_URL);
+        registry.add("spring.datasource.replica.url", () -> REPLICA_URL);
+        // The replica is always "in sync" for H2; only connectivity is checked
+        registry.add("spring.datasource.replica.max-lag", () -> "1h");
+    }
+
+    @Test
+    void loginFindsAccountMissingFromReplica() {
+        Map<String, String> account = Map.of(
+                "email", "fresh@example.com", "password", "secret123", "name", "Fresh");
+        assertThat(restTemplate.postForEntity("/api/auth/signup", account, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+        double replicaAcquisitions = replicaAcquisitions();
+
+        ResponseEntity<String> login = restTemplate.postForEntity("/api/auth/login",
+                Map.of("email", "fresh@example.com", "password", "secret123"), String.class);
+
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(replicaAcquisitions()).isGreaterThan(replicaAcquisitions);
+    }
+
+    @Test
+    void unknownAccountIsStillRejected() {
+        ResponseEntity<String> login = restTemplate.postForEntity("/api/auth/login",
+                Map.of("email", "nobody@example.com", "password", "secret123"), String.class);
+
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    private double replicaAcquisitions() {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "replica").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,103 @@
+package com.expensetracker.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bucket arithmetic on an explicit clock: a full bucket allows a burst of its
+ * capacity, then one token per refill interval, and never holds more than its
+ * capacity however long it stays idle.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void fullBucketAllowsBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(5, 60, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(0)).isZero();
+        }
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(2, 60, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND / 4)).isEqualTo(3 * SECOND / 4);
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+        assertThat(bucket.tryConsume(SECOND)).isEqualTo(SECOND);
+        assertThat(bucket.tryConsume(3 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(3 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(3 * SECOND)).isPositive();
+    }
+
+    @Test
+    void idleBucketDoesNotExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 60, 0);
+        long later = 3_600 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void rejectedAttemptsDoNotDelayRefill() {
+        TokenBucket bucket = new TokenBucket(1, 60, 0);
+        bucket.tryConsume(0);
+        for (int i = 0; i < 100; i++) {
+            bucket.tryConsume(SECOND / 2);
+        }
+
+        assertThat(bucket.tryConsume(SECOND)).isZero();
+    }
+
+    @Test
+    void worksAcrossNegativeClockValues() {
+        // System.nanoTime() may be negative, and may cross zero while the bucket lives
+        long start = -SECOND / 2;
+        TokenBucket bucket = new TokenBucket(1, 60, start);
+
+        assertThat(bucket.tryConsume(start)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryConsume(start + SECOND)).isZero();
+    }
+
+    @Test
+    void nonPositiveSettingsFallBackToOne() {
+        TokenBucket bucket = new TokenBucket(0, 0, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(60 * SECOND);
+    }
+
+    @Test
+    void concurrentConsumersNeverExceedCapacity() {
+        TokenBucket bucket = new TokenBucket(100, 1, 0);
+        AtomicInteger taken = new AtomicInteger();
+
+        CompletableFuture<?>[] consumers = IntStream.range(0, 8)
+                .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (bucket.tryConsume(0) == 0) {
+                            taken.incrementAndGet();
+                        }
+                    }
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(consumers).join();
+
+        assertThat(taken).hasValue(100);
+    }
+}
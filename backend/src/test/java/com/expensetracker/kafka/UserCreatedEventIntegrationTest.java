@@ -0,0 +1,65 @@
+package com.expensetracker.kafka;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ids come from a sequence, so a signup's insert, and the unique-email check
+ * with it, only runs at the commit. {@code USER_CREATED} must be sent after
+ * that commit, never for a signup that is then rolled back.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "kafka.enabled=true",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false"
+})
+@ActiveProfiles("test")
+class UserCreatedEventIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @MockBean
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:user-created-event;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void duplicateSignupIsNotAnnounced() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        Map<String, String> account = Map.of(
+                "email", "once@example.com", "password", "secret123", "name", "Once");
+
+        assertThat(restTemplate.postForEntity("/api/auth/signup", account, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.CREATED);
+        assertThat(restTemplate.postForEntity("/api/auth/signup", account, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+
+        verify(kafkaTemplate, times(1)).send(eq("user-lifecycle"), anyString(),
+                argThat(event -> event instanceof Map<?, ?> map
+                        && UserLifecycleProducer.USER_CREATED.equals(map.get("eventType"))));
+    }
+}
@@ -0,0 +1,49 @@
+package com.expensetracker.warmup;
+
+import com.expensetracker.auth.service.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Warm-up leaves neither synthetic entries in the verified-token cache nor more
+ * than a handful of samples in the token timers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "warmup.enabled=true",
+        "warmup.iterations=50",
+        "warmup.max-duration=2s"
+})
+@ActiveProfiles("test")
+class WarmupIntegrationTest {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void syntheticTokensDoNotLinger() {
+        assertThat(warmupService.isReady()).isTrue();
+
+        assertThat(verifiedTokenCache.size()).isZero();
+        assertThat(verifiedTokenCache.hitCount()).isPositive();
+        assertThat(meterRegistry.get("jwt.mint").tag("type", "access").timer().count()).isLessThanOrEqualTo(4);
+        assertThat(meterRegistry.get("jwt.verify").tag("outcome", "valid").timer().count()).isLessThanOrEqualTo(4);
+    }
+}